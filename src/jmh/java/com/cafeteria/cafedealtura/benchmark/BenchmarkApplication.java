@@ -0,0 +1,97 @@
+package com.cafeteria.cafedealtura.benchmark;
+
+import com.cafeteria.cafedealtura.CafedealturaApplication;
+import com.cafeteria.cafedealtura.domain.coffee.model.Coffee;
+import com.cafeteria.cafedealtura.domain.coffee.repository.CoffeeRepository;
+import com.cafeteria.cafedealtura.domain.user.model.User;
+import com.cafeteria.cafedealtura.domain.user.repository.UserRepository;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Arranca la aplicación sin servidor web sobre una base de datos H2 embebida
+ * y la rellena con datos de prueba reproducibles (semilla fija), para que los
+ * resultados de distintas ejecuciones sean comparables.
+ */
+final class BenchmarkApplication {
+    static final long SEED = 42L;
+    static final int COFFEES = 200;
+
+    private static final String[] ORIGINS = { "Colombia", "Brasil", "Etiopía", "Kenia", "Guatemala", "Vietnam" };
+
+    private final ConfigurableApplicationContext context;
+    private final User customer;
+    private final List<Coffee> coffees;
+
+    private BenchmarkApplication(ConfigurableApplicationContext context, User customer, List<Coffee> coffees) {
+        this.context = context;
+        this.customer = customer;
+        this.coffees = coffees;
+    }
+
+    /**
+     * Arranca un contexto nuevo con su propia base de datos en memoria.
+     *
+     * @param name Nombre de la base de datos H2
+     * @return Aplicación lista con los datos de prueba cargados
+     */
+    static BenchmarkApplication start(String name) {
+        return start(name,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.cafeteria.cafedealtura=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+    }
+
+    /**
+     * Arranca un contexto nuevo con argumentos adicionales (perfiles, niveles
+     * de log...).
+     *
+     * @param name Nombre de la base de datos H2
+     * @param args Argumentos de línea de comandos para Spring Boot
+     * @return Aplicación lista con los datos de prueba cargados
+     */
+    static BenchmarkApplication start(String name, String... args) {
+        String[] arguments = new String[args.length + 1];
+        arguments[0] = "--spring.datasource.url=jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1";
+        System.arraycopy(args, 0, arguments, 1, args.length);
+
+        SpringApplication application = new SpringApplication(CafedealturaApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        ConfigurableApplicationContext context = application.run(arguments);
+
+        Random random = new Random(SEED);
+        List<Coffee> coffees = new ArrayList<>(COFFEES);
+        for (int i = 0; i < COFFEES; i++) {
+            String origin = ORIGINS[random.nextInt(ORIGINS.length)];
+            double price = Math.round((2.0 + random.nextDouble() * 18.0) * 100) / 100.0;
+            coffees.add(new Coffee("Café " + i, "Café de prueba " + i, price, origin));
+        }
+        coffees = context.getBean(CoffeeRepository.class).saveAll(coffees);
+        User customer = context.getBean(UserRepository.class)
+                .save(new User("Cliente benchmark", "benchmark@cafe.com", "benchmark"));
+        return new BenchmarkApplication(context, customer, coffees);
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    User getCustomer() {
+        return customer;
+    }
+
+    List<Coffee> getCoffees() {
+        return coffees;
+    }
+
+    void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,81 @@
+package com.cafeteria.cafedealtura.benchmark;
+
+import com.cafeteria.cafedealtura.domain.coffee.catalog.CoffeeCatalogRenderer;
+import com.cafeteria.cafedealtura.domain.coffee.catalog.CoffeeCatalogSnapshot;
+import com.cafeteria.cafedealtura.domain.coffee.dto.response.CoffeeResponseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializar el catálogo con Jackson en cada petición frente a copiar el JSON
+ * precalculado de la instantánea, sin base de datos. Conviene ejecutarlo con
+ * {@code -prof gc} para ver la asignación por operación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogRenderingBenchmark {
+    private static final String[] ORIGINS = { "Colombia", "Brasil", "Etiopía", "Kenia", "Guatemala", "Vietnam" };
+
+    private ObjectMapper objectMapper;
+    private CoffeeCatalogSnapshot snapshot;
+    private List<CoffeeResponseDTO> firstPage;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(BenchmarkApplication.SEED);
+        List<CoffeeResponseDTO> coffees = new ArrayList<>(BenchmarkApplication.COFFEES);
+        for (int i = 0; i < BenchmarkApplication.COFFEES; i++) {
+            coffees.add(new CoffeeResponseDTO((long) i + 1, "Café " + i, "Café de prueba " + i,
+                    2.0 + random.nextInt(18), ORIGINS[random.nextInt(ORIGINS.length)], 0L));
+        }
+        objectMapper = new ObjectMapper();
+        snapshot = CoffeeCatalogSnapshot.of(1, coffees, new CoffeeCatalogRenderer(objectMapper));
+        firstPage = snapshot.getCoffees().subList(0, 10);
+    }
+
+    @Benchmark
+    public byte[] jacksonCatalog() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(snapshot.getCoffees());
+    }
+
+    @Benchmark
+    public byte[] renderedCatalog() {
+        return snapshot.getRendered().getAll().getJson();
+    }
+
+    @Benchmark
+    public byte[] jacksonPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(firstPage);
+    }
+
+    @Benchmark
+    public byte[] renderedPage() {
+        return snapshot.getRendered().array(firstPage).getJson();
+    }
+
+    @Benchmark
+    public CoffeeCatalogSnapshot upsert() {
+        CoffeeResponseDTO first = snapshot.getCoffees().get(0);
+        return snapshot.withUpsert(new CoffeeResponseDTO(first.getId(), first.getName(), first.getDescription(),
+                first.getPrice() + 1, first.getOrigin(), first.getVersion() + 1));
+    }
+}
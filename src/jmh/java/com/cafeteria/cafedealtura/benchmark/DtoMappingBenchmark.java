@@ -0,0 +1,67 @@
+package com.cafeteria.cafedealtura.benchmark;
+
+import com.cafeteria.cafedealtura.domain.coffee.dto.response.CoffeeResponseDTO;
+import com.cafeteria.cafedealtura.domain.coffee.model.Coffee;
+import com.cafeteria.cafedealtura.domain.order.dto.response.OrderResponseDTO;
+import com.cafeteria.cafedealtura.domain.order.model.Order;
+import com.cafeteria.cafedealtura.domain.order.model.OrderItem;
+import com.cafeteria.cafedealtura.domain.user.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de convertir entidades en DTO de respuesta, sin base de datos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({ "1", "10", "100" })
+    public int items;
+
+    private Coffee coffee;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(BenchmarkApplication.SEED);
+        coffee = new Coffee("Café 0", "Café de prueba", 4.5, "Colombia");
+        coffee.setId(1L);
+
+        User user = new User("Cliente benchmark", "benchmark@cafe.com", "benchmark");
+        user.setId(1L);
+        order = new Order(user);
+        order.setId(1L);
+        for (int i = 0; i < items; i++) {
+            Coffee itemCoffee = new Coffee("Café " + i, "Café de prueba " + i, 2.0 + random.nextInt(18), "Brasil");
+            itemCoffee.setId((long) i + 1);
+            order.addItem(new OrderItem(itemCoffee, 1 + random.nextInt(5)));
+        }
+    }
+
+    @Benchmark
+    public OrderResponseDTO orderResponse() {
+        return new OrderResponseDTO(order);
+    }
+
+    @Benchmark
+    public CoffeeResponseDTO coffeeResponse() {
+        return new CoffeeResponseDTO(coffee);
+    }
+}
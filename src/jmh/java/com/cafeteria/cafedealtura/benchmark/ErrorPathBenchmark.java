@@ -0,0 +1,65 @@
+package com.cafeteria.cafedealtura.benchmark;
+
+import com.cafeteria.cafedealtura.common.exceptions.BaseException;
+import com.cafeteria.cafedealtura.common.exceptions.ResourceNotFoundException;
+import com.cafeteria.cafedealtura.common.exceptions.UnauthorizedException;
+import com.cafeteria.cafedealtura.domain.coffee.dto.response.CoffeeResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste del camino de error (lanzar y capturar una excepción de negocio)
+ * frente al camino feliz equivalente.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    private final Map<Long, CoffeeResponseDTO> coffees = Map.of(
+            1L, new CoffeeResponseDTO(1L, "Café 1", "Café de prueba", 4.5, "Colombia"));
+
+    @Benchmark
+    public Object found() {
+        return find(1L);
+    }
+
+    @Benchmark
+    public Object notFound() {
+        try {
+            return find(2L);
+        } catch (BaseException ex) {
+            return ex.getStatus();
+        }
+    }
+
+    @Benchmark
+    public Object accessDenied() {
+        try {
+            throw UnauthorizedException.ACCESS_DENIED;
+        } catch (BaseException ex) {
+            return ex.getStatus();
+        }
+    }
+
+    private CoffeeResponseDTO find(Long id) {
+        CoffeeResponseDTO coffee = coffees.get(id);
+        if (coffee == null) {
+            throw new ResourceNotFoundException("Café", "id", id);
+        }
+        return coffee;
+    }
+}
@@ -0,0 +1,80 @@
+package com.cafeteria.cafedealtura.benchmark;
+
+import com.cafeteria.cafedealtura.domain.user.model.Role;
+import com.cafeteria.cafedealtura.domain.user.model.User;
+import com.cafeteria.cafedealtura.security.JwtPrincipal;
+import com.cafeteria.cafedealtura.security.JwtTokenProvider;
+import com.cafeteria.cafedealtura.security.VerifiedTokenCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de emitir y validar tokens JWT, con y sin la caché de tokens
+ * verificados. {@link #validateThenGetEmail()} reproduce el flujo anterior
+ * del filtro (validar y volver a parsear para leer el email) como referencia
+ * frente a {@link #verifyOnce()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    /**
+     * Tamaño de la caché de tokens verificados (0 = sin caché).
+     */
+    @Param({ "0", "10000" })
+    public int cacheEntries;
+
+    private JwtTokenProvider tokenProvider;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        VerifiedTokenCache cache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(cache, "maxEntries", cacheEntries);
+        tokenProvider = new JwtTokenProvider(cache);
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "CafeDeAlturaSecretKey2024");
+
+        user = new User("Cliente benchmark", "benchmark@cafe.com", "benchmark");
+        user.setId(1L);
+        user.addRole(new Role("USER"));
+        user.addRole(new Role("ADMIN"));
+        token = tokenProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String validateThenGetEmail() {
+        return tokenProvider.validateToken(token) ? tokenProvider.getEmailFromJWT(token) : null;
+    }
+
+    @Benchmark
+    public String verifyOnce() {
+        return tokenProvider.verify(token).map(JwtPrincipal::getEmail).orElse(null);
+    }
+}
@@ -0,0 +1,70 @@
+package com.cafeteria.cafedealtura.benchmark;
+
+import com.cafeteria.cafedealtura.domain.coffee.catalog.CoffeeCatalog;
+import com.cafeteria.cafedealtura.domain.coffee.model.Coffee;
+import com.cafeteria.cafedealtura.domain.order.dto.request.CreateOrderRequestDTO;
+import com.cafeteria.cafedealtura.domain.order.dto.response.OrderResponseDTO;
+import com.cafeteria.cafedealtura.domain.order.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de {@link OrderService#create} según el número de líneas del pedido.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    @Param({ "1", "10", "100" })
+    public int basketSize;
+
+    private BenchmarkApplication application;
+    private OrderService orderService;
+    private CreateOrderRequestDTO request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = BenchmarkApplication.start("order-bench-" + basketSize);
+        application.getBean(CoffeeCatalog.class).reload();
+        orderService = application.getBean(OrderService.class);
+
+        Random random = new Random(BenchmarkApplication.SEED);
+        List<Coffee> coffees = application.getCoffees();
+        List<CreateOrderRequestDTO.OrderItemRequestDTO> items = new ArrayList<>(basketSize);
+        for (int i = 0; i < basketSize; i++) {
+            Coffee coffee = coffees.get(random.nextInt(coffees.size()));
+            items.add(new CreateOrderRequestDTO.OrderItemRequestDTO(coffee.getId(), 1 + random.nextInt(5)));
+        }
+        request = new CreateOrderRequestDTO(application.getCustomer().getId(), items);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public OrderResponseDTO create() {
+        return orderService.create(request);
+    }
+}
@@ -0,0 +1,107 @@
+package com.cafeteria.cafedealtura.benchmark;
+
+import com.cafeteria.cafedealtura.common.utils.ValidationUtils;
+import com.cafeteria.cafedealtura.security.JwtPrincipal;
+import com.cafeteria.cafedealtura.security.annotation.RequireRole;
+import com.cafeteria.cafedealtura.security.evaluator.RoleEvaluator;
+import com.cafeteria.cafedealtura.security.evaluator.RoleMask;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de las comprobaciones que se ejecutan en cada petición: evaluación de
+ * roles y validaciones de {@link ValidationUtils}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityChecksBenchmark {
+
+    private final RoleEvaluator roleEvaluator = new RoleEvaluator();
+    private RequireRole adminOrUser;
+    private RequireRole supervisor;
+    private long adminOrUserMask;
+    private long supervisorMask;
+
+    @RequireRole({ "ADMIN", "USER" })
+    private static void adminOrUser() {
+    }
+
+    @RequireRole("SUPERVISOR")
+    private static void supervisor() {
+    }
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        adminOrUser = SecurityChecksBenchmark.class.getDeclaredMethod("adminOrUser").getAnnotation(RequireRole.class);
+        supervisor = SecurityChecksBenchmark.class.getDeclaredMethod("supervisor").getAnnotation(RequireRole.class);
+        adminOrUserMask = RoleMask.of(adminOrUser.value());
+        supervisorMask = RoleMask.of(supervisor.value());
+
+        JwtPrincipal principal = new JwtPrincipal("benchmark@cafe.com", 1L, List.of("USER"), Long.MAX_VALUE);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal, null, principal.getAuthorities()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public boolean hasAnyRoleGranted() {
+        return roleEvaluator.hasAnyRole(adminOrUser);
+    }
+
+    @Benchmark
+    public boolean hasAnyRoleDenied() {
+        return roleEvaluator.hasAnyRole(supervisor);
+    }
+
+    @Benchmark
+    public boolean hasAnyRoleMaskGranted() {
+        return roleEvaluator.hasAnyRole(adminOrUserMask);
+    }
+
+    @Benchmark
+    public boolean hasAnyRoleMaskDenied() {
+        return roleEvaluator.hasAnyRole(supervisorMask);
+    }
+
+    @Benchmark
+    public void validateEmail() {
+        ValidationUtils.validateEmail("benchmark@cafe.com");
+    }
+
+    @Benchmark
+    public void validatePassword() {
+        ValidationUtils.validatePassword("Benchmark123");
+    }
+
+    @Benchmark
+    public void validateNotEmpty() {
+        ValidationUtils.validateNotEmpty("Café de prueba", "nombre");
+    }
+
+    @Benchmark
+    public void validateRange() {
+        ValidationUtils.validateRange(4.5, 0.0, 100.0, "precio");
+    }
+}
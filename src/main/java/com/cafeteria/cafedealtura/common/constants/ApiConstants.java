@@ -22,6 +22,8 @@ public final class ApiConstants {
     // Parámetros comunes
     public static final String DEFAULT_PAGE_SIZE = "10";
     public static final String DEFAULT_PAGE_NUMBER = "0";
+    public static final int MAX_CURSOR_PAGE_SIZE = 100;
+    public static final int MAX_BULK_ORDERS = 500;
 
     // Mensajes de error comunes
     public static final String ERROR_RESOURCE_NOT_FOUND = "Recurso no encontrado";
@@ -5,19 +5,24 @@ import org.springframework.http.HttpStatus;
 /**
  * Clase base para todas las excepciones personalizadas de la aplicación.
  * Proporciona una estructura común para manejar errores de manera consistente.
+ *
+ * Son errores de negocio esperados (404, 400, 403...), así que no capturan la
+ * traza de pila: crearlas cuesta lo mismo que crear cualquier otro objeto.
+ * Para depurar se puede reactivar la traza arrancando la JVM con
+ * {@code -Dcafedealtura.exceptions.stack-traces=true}.
  */
 public abstract class BaseException extends RuntimeException {
+    private static final boolean STACK_TRACES = Boolean.getBoolean("cafedealtura.exceptions.stack-traces");
+
     private final HttpStatus status;
     private final String errorCode;
 
     protected BaseException(String message, HttpStatus status, String errorCode) {
-        super(message);
-        this.status = status;
-        this.errorCode = errorCode;
+        this(message, status, errorCode, null);
     }
 
     protected BaseException(String message, HttpStatus status, String errorCode, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, STACK_TRACES);
         this.status = status;
         this.errorCode = errorCode;
     }
@@ -0,0 +1,19 @@
+package com.cafeteria.cafedealtura.common.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Excepción lanzada cuando la operación choca con el estado actual del
+ * recurso (por ejemplo, lo ha modificado otra petición a la vez).
+ */
+public class ConflictException extends BaseException {
+    private static final String ERROR_CODE = "CONFLICT";
+
+    public ConflictException(String message) {
+        super(message, HttpStatus.CONFLICT, ERROR_CODE);
+    }
+
+    public ConflictException(String message, Throwable cause) {
+        super(message, HttpStatus.CONFLICT, ERROR_CODE, cause);
+    }
+}
@@ -1,8 +1,11 @@
 package com.cafeteria.cafedealtura.common.exceptions;
 
 import com.cafeteria.cafedealtura.common.constants.ApiConstants;
+import com.cafeteria.cafedealtura.common.logging.RateLimitedLog;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -24,9 +27,19 @@ import java.util.Map;
 public class GlobalExceptionHandler {
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    /**
+     * Los errores de negocio son esperados: se registran como mucho una vez por
+     * intervalo y código de error (el resto solo en DEBUG).
+     */
+    private final RateLimitedLog businessErrorLog;
+
+    public GlobalExceptionHandler(@Value("${app.logging.business-errors.interval-ms:10000}") long intervalMillis) {
+        this.businessErrorLog = new RateLimitedLog(intervalMillis);
+    }
+
     @ExceptionHandler(BaseException.class)
     public ResponseEntity<ErrorResponse> handleBaseException(BaseException ex) {
-        logger.error("Error de negocio: {}", ex.getMessage());
+        logBusinessError(ex.getErrorCode(), "Error de negocio", ex.getMessage());
         ErrorResponse error = new ErrorResponse(
                 ex.getStatus(),
                 ex.getErrorCode(),
@@ -35,9 +48,20 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, ex.getStatus());
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        logBusinessError("CONFLICT", "Conflicto de versión", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.CONFLICT,
+                "CONFLICT",
+                "El recurso ha sido modificado por otra petición; vuelve a consultarlo",
+                LocalDateTime.now());
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ErrorResponse> handleBadCredentialsException(BadCredentialsException ex) {
-        logger.error("Error de autenticación: {}", ex.getMessage());
+        logBusinessError("INVALID_CREDENTIALS", "Error de autenticación", ex.getMessage());
         ErrorResponse error = new ErrorResponse(
                 HttpStatus.UNAUTHORIZED,
                 "INVALID_CREDENTIALS",
@@ -48,7 +72,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(UsernameNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleUsernameNotFoundException(UsernameNotFoundException ex) {
-        logger.error("Usuario no encontrado: {}", ex.getMessage());
+        logBusinessError("USER_NOT_FOUND", "Usuario no encontrado", ex.getMessage());
         ErrorResponse error = new ErrorResponse(
                 HttpStatus.NOT_FOUND,
                 "USER_NOT_FOUND",
@@ -59,7 +83,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ValidationErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
-        logger.error("Error de validación: {}", ex.getMessage());
+        logBusinessError("VALIDATION_ERROR", "Error de validación", ex.getMessage());
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getAllErrors().forEach((error) -> {
             String fieldName = ((FieldError) error).getField();
@@ -87,6 +111,15 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    private void logBusinessError(String errorCode, String description, String message) {
+        long suppressed = businessErrorLog.tryAcquire(errorCode);
+        if (suppressed >= 0) {
+            logger.warn("{} [{}]: {} ({} similares omitidos)", description, errorCode, message, suppressed);
+        } else if (logger.isDebugEnabled()) {
+            logger.debug("{} [{}]: {}", description, errorCode, message);
+        }
+    }
+
     /**
      * Clase para representar una respuesta de error estándar
      */
@@ -0,0 +1,15 @@
+package com.cafeteria.cafedealtura.common.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Excepción lanzada cuando la versión indicada en {@code If-Match} no coincide
+ * con la versión actual del recurso.
+ */
+public class PreconditionFailedException extends BaseException {
+    private static final String ERROR_CODE = "PRECONDITION_FAILED";
+
+    public PreconditionFailedException(String message) {
+        super(message, HttpStatus.PRECONDITION_FAILED, ERROR_CODE);
+    }
+}
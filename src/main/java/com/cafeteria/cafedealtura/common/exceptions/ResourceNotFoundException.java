@@ -14,7 +14,7 @@ public class ResourceNotFoundException extends BaseException {
 
     public ResourceNotFoundException(String resourceName, String fieldName, Object fieldValue) {
         super(
-                String.format("%s no encontrado con %s : '%s'", resourceName, fieldName, fieldValue),
+                resourceName + " no encontrado con " + fieldName + " : '" + fieldValue + "'",
                 HttpStatus.NOT_FOUND,
                 ERROR_CODE);
     }
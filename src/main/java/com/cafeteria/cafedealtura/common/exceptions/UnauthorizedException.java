@@ -8,6 +8,14 @@ import org.springframework.http.HttpStatus;
 public class UnauthorizedException extends BaseException {
     private static final String ERROR_CODE = "UNAUTHORIZED";
 
+    /**
+     * Instancia compartida para la denegación por falta de roles. Es inmutable
+     * y no tiene traza, así que se puede lanzar repetidamente sin asignar
+     * memoria.
+     */
+    public static final UnauthorizedException ACCESS_DENIED = new UnauthorizedException(
+            "No tienes los roles necesarios para acceder a este recurso");
+
     public UnauthorizedException(String message) {
         super(message, HttpStatus.FORBIDDEN, ERROR_CODE);
     }
@@ -0,0 +1,98 @@
+package com.cafeteria.cafedealtura.common.http;
+
+import com.cafeteria.cafedealtura.common.exceptions.BadRequestException;
+
+/**
+ * Utilidades para las ETags basadas en la versión de una entidad.
+ * La ETag de un recurso es su versión entre comillas, por ejemplo
+ * {@code "3"}. También resuelve las peticiones condicionales con
+ * {@code If-None-Match}.
+ *
+ * Las representaciones comprimidas llevan una ETag propia, con el sufijo
+ * {@code -gzip} dentro de las comillas (por ejemplo {@code "3-gzip"}), para
+ * que una ETag fuerte no identifique dos cuerpos distintos.
+ */
+public final class ETags {
+    private static final String GZIP_SUFFIX = "-gzip";
+
+    private ETags() {
+        // Prevenir instanciación
+    }
+
+    /**
+     * @param version Versión de la entidad
+     * @return ETag fuerte con la versión, o null si no hay versión
+     */
+    public static String of(Long version) {
+        return version != null ? "\"" + version + "\"" : null;
+    }
+
+    /**
+     * @param eTag ETag de la representación sin comprimir
+     * @return ETag de la representación comprimida con gzip
+     */
+    public static String gzip(String eTag) {
+        if (eTag == null || !eTag.endsWith("\"")) {
+            return eTag;
+        }
+        return eTag.substring(0, eTag.length() - 1) + GZIP_SUFFIX + "\"";
+    }
+
+    /**
+     * Comprueba si la cabecera {@code If-None-Match} contiene la ETag actual
+     * (comparación débil, como indica RFC 9110 para peticiones GET). Se acepta
+     * tanto la ETag sin comprimir como la de gzip: ambas representan la misma
+     * versión del recurso.
+     *
+     * @param ifNoneMatch Valor de la cabecera (puede ser null)
+     * @param eTag        ETag actual del recurso
+     * @return true si el cliente ya tiene esta versión
+     */
+    public static boolean matchesIfNoneMatch(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+        String current = opaque(eTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || opaque(value).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Interpreta la cabecera {@code If-Match}.
+     *
+     * @param ifMatch Valor de la cabecera (puede ser null)
+     * @return Versión esperada, o null si la cabecera no existe o es {@code *}
+     * @throws BadRequestException si la cabecera no contiene una versión válida
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Cabecera If-Match inválida: " + ifMatch, ex);
+        }
+    }
+
+    private static String opaque(String eTag) {
+        String value = eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+        String gzipEnd = GZIP_SUFFIX + "\"";
+        if (value.endsWith(gzipEnd)) {
+            value = value.substring(0, value.length() - gzipEnd.length()) + "\"";
+        }
+        return value;
+    }
+}
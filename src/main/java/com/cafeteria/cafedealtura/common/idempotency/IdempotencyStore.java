@@ -0,0 +1,110 @@
+package com.cafeteria.cafedealtura.common.idempotency;
+
+import com.cafeteria.cafedealtura.common.exceptions.BadRequestException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Almacén en memoria de resultados por clave de idempotencia.
+ *
+ * La primera petición con una clave ejecuta la operación; las repeticiones,
+ * incluso si llegan mientras la primera sigue en curso, esperan y reciben el
+ * mismo resultado. Si la operación falla la clave se libera para que el
+ * cliente pueda reintentar. Las entradas caducan tras {@code ttlMillis} y el
+ * número total está acotado por {@code maxEntries}.
+ *
+ * @param <V> Tipo del resultado
+ */
+public class IdempotencyStore<V> {
+    private final Map<String, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    public IdempotencyStore(long ttlMillis, int maxEntries) {
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Ejecuta la operación una sola vez por clave.
+     *
+     * @param key         Clave de idempotencia
+     * @param fingerprint Huella de la petición; una repetición con otra huella
+     *                    se rechaza
+     * @param action      Operación a ejecutar
+     * @return Resultado de la primera ejecución con esa clave
+     * @throws BadRequestException si la clave ya se usó con otra petición
+     */
+    public V execute(String key, String fingerprint, Supplier<V> action) {
+        long now = System.currentTimeMillis();
+        if (entries.size() >= maxEntries) {
+            evict(now);
+        }
+
+        Entry<V> created = new Entry<>(fingerprint, now + ttlMillis);
+        Entry<V> existing = entries.merge(key, created,
+                (current, candidate) -> current.isExpired(now) ? candidate : current);
+
+        if (existing != created) {
+            if (!existing.fingerprint.equals(fingerprint)) {
+                throw new BadRequestException("La clave de idempotencia ya se usó con una petición distinta");
+            }
+            return await(existing.result);
+        }
+
+        try {
+            V value = action.get();
+            created.result.complete(value);
+            return value;
+        } catch (RuntimeException ex) {
+            entries.remove(key, created);
+            created.result.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Elimina las entradas caducadas.
+     */
+    public void purgeExpired() {
+        evict(System.currentTimeMillis());
+    }
+
+    private void evict(long now) {
+        entries.values().removeIf(entry -> entry.isExpired(now));
+        if (entries.size() >= maxEntries) {
+            // Se descartan solo las ya resueltas para no romper peticiones en curso
+            entries.values().removeIf(entry -> entry.result.isDone());
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> result) {
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static final class Entry<V> {
+        private final String fingerprint;
+        private final long expiresAt;
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+
+        private Entry(String fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.cafeteria.cafedealtura.common.logging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limita la frecuencia de un mensaje de log por clave.
+ *
+ * Para cada clave deja pasar como mucho un mensaje por intervalo y cuenta los
+ * que se omiten, de modo que una ráfaga de errores repetidos produce una línea
+ * por intervalo con el número de repeticiones.
+ */
+public class RateLimitedLog {
+    private final long intervalNanos;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public RateLimitedLog(long intervalMillis) {
+        this.intervalNanos = intervalMillis * 1_000_000L;
+    }
+
+    /**
+     * Intenta obtener permiso para escribir un mensaje con la clave indicada.
+     *
+     * @param key Clave del mensaje (por ejemplo, el código de error)
+     * @return Número de mensajes omitidos desde el último permitido, o -1 si
+     *         este mensaje debe omitirse
+     */
+    public long tryAcquire(String key) {
+        Window window = windows.computeIfAbsent(key, k -> new Window());
+        long now = System.nanoTime();
+        long next = window.nextAllowed.get();
+        if (now - next >= 0 && window.nextAllowed.compareAndSet(next, now + intervalNanos)) {
+            return window.suppressed.sumThenReset();
+        }
+        window.suppressed.increment();
+        return -1;
+    }
+
+    private static final class Window {
+        private final AtomicLong nextAllowed = new AtomicLong(System.nanoTime());
+        private final LongAdder suppressed = new LongAdder();
+    }
+}
@@ -0,0 +1,82 @@
+package com.cafeteria.cafedealtura.common.logging;
+
+import com.cafeteria.cafedealtura.common.constants.ApiConstants;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decide qué peticiones registran su SQL.
+ *
+ * Una petición se marca si trae la cabecera configurada en
+ * {@code app.logging.sql.header} (cuando {@code app.logging.sql.header-enabled}
+ * está activo y el usuario autenticado es ADMIN) o si cae en la muestra
+ * aleatoria de {@code app.logging.sql.sample-rate}. La marca se guarda en el
+ * MDC y la usa {@link SqlLogTurboFilter}.
+ *
+ * El filtro se ejecuta después de la cadena de Spring Security para que la
+ * autenticación ya esté resuelta al evaluar la cabecera; el SQL de los propios
+ * filtros de seguridad no se registra.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+public class SqlLogSamplingFilter extends OncePerRequestFilter {
+
+    @Value("${app.logging.sql.header:X-Debug-Sql}")
+    private String header;
+
+    @Value("${app.logging.sql.header-enabled:false}")
+    private boolean headerEnabled;
+
+    @Value("${app.logging.sql.sample-rate:0.0}")
+    private double sampleRate;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!shouldLogSql(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        MDC.put(SqlLogTurboFilter.MDC_KEY, "on");
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(SqlLogTurboFilter.MDC_KEY);
+        }
+    }
+
+    private boolean shouldLogSql(HttpServletRequest request) {
+        if (headerEnabled && "true".equalsIgnoreCase(request.getHeader(header)) && isAdmin()) {
+            return true;
+        }
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private static boolean isAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (("ROLE_" + ApiConstants.ROLE_ADMIN).equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,39 @@
+package com.cafeteria.cafedealtura.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Filtro de Logback que activa el log de SQL solo en las peticiones marcadas.
+ *
+ * Si el MDC contiene {@link #MDC_KEY} (lo pone {@link SqlLogSamplingFilter}),
+ * acepta los eventos de los loggers de SQL de Hibernate aunque su nivel
+ * configurado esté desactivado. En el resto de casos no interviene.
+ */
+public class SqlLogTurboFilter extends TurboFilter {
+    public static final String MDC_KEY = "sqlLog";
+
+    private static final String[] SQL_LOGGERS = {
+            "org.hibernate.SQL",
+            "org.hibernate.orm.jdbc.bind"
+    };
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+            Throwable t) {
+        if (MDC.get(MDC_KEY) == null) {
+            return FilterReply.NEUTRAL;
+        }
+        String name = logger.getName();
+        for (String sqlLogger : SQL_LOGGERS) {
+            if (name.startsWith(sqlLogger)) {
+                return FilterReply.ACCEPT;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,43 @@
+package com.cafeteria.cafedealtura.common.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cuenta las sentencias SQL que Hibernate prepara en el hilo actual.
+ *
+ * Se registra como {@link StatementInspector} y no modifica el SQL; el
+ * contador lo reinicia y lee {@link SqlStatementMetricsFilter} al principio y
+ * al final de cada petición.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector {
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Pone a cero el contador del hilo actual.
+     */
+    public void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    /**
+     * @return Sentencias preparadas en el hilo actual desde el último reinicio
+     */
+    public int current() {
+        return COUNT.get()[0];
+    }
+
+    /**
+     * Libera el contador del hilo actual.
+     */
+    public void clear() {
+        COUNT.remove();
+    }
+}
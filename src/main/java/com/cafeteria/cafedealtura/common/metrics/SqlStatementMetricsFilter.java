@@ -0,0 +1,63 @@
+package com.cafeteria.cafedealtura.common.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Registra cuántas sentencias SQL ejecuta cada petición, agrupadas por
+ * endpoint ({@code cafedealtura.sql.statements}).
+ *
+ * El recuento es por hilo, así que las peticiones asíncronas (por ejemplo las
+ * que devuelven {@code StreamingResponseBody}) no se registran: su trabajo de
+ * base de datos se ejecuta en otro hilo y el valor quedaría por debajo del
+ * real.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+    private final SqlStatementCounter counter;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public SqlStatementMetricsFilter(SqlStatementCounter counter, MeterRegistry meterRegistry) {
+        this.counter = counter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        counter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!request.isAsyncStarted()) {
+                record(request);
+            }
+            counter.clear();
+        }
+    }
+
+    private void record(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("cafedealtura.sql.statements")
+                .description("Sentencias SQL ejecutadas por petición")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(counter.current());
+    }
+}
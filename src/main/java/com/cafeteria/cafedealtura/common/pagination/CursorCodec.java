@@ -0,0 +1,69 @@
+package com.cafeteria.cafedealtura.common.pagination;
+
+import com.cafeteria.cafedealtura.common.constants.ApiConstants;
+import com.cafeteria.cafedealtura.common.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Codifica y decodifica los cursores opacos de la paginación keyset.
+ * Un cursor es la clave de ordenación del último elemento devuelto,
+ * serializada en Base64 URL-safe.
+ */
+public final class CursorCodec {
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {
+        // Prevenir instanciación
+    }
+
+    /**
+     * Codifica los valores de la clave de ordenación en un cursor opaco.
+     * 
+     * @param parts Valores de la clave, en orden
+     * @return Cursor opaco
+     */
+    public static String encode(Object... parts) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(parts[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor opaco.
+     * 
+     * @param cursor        Cursor recibido del cliente
+     * @param expectedParts Número de valores que debe contener
+     * @return Valores de la clave de ordenación
+     * @throws BadRequestException si el cursor no es válido
+     */
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != expectedParts) {
+                throw new BadRequestException("Cursor de paginación inválido");
+            }
+            return parts;
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Cursor de paginación inválido", ex);
+        }
+    }
+
+    /**
+     * Ajusta el tamaño de página solicitado al rango permitido.
+     * 
+     * @param size Tamaño solicitado
+     * @return Tamaño entre 1 y {@link ApiConstants#MAX_CURSOR_PAGE_SIZE}
+     */
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, ApiConstants.MAX_CURSOR_PAGE_SIZE));
+    }
+}
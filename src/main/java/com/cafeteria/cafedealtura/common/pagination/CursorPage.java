@@ -0,0 +1,35 @@
+package com.cafeteria.cafedealtura.common.pagination;
+
+import java.util.List;
+
+/**
+ * Página de resultados con paginación por cursor (keyset).
+ * No incluye totales: el cliente avanza con el cursor opaco
+ * {@code nextCursor} mientras {@code hasNext} sea true.
+ *
+ * @param <T> Tipo de los elementos de la página
+ */
+public class CursorPage<T> {
+    private final List<T> content;
+    private final String nextCursor;
+    private final boolean hasNext;
+
+    public CursorPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+
+    // Getters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+}
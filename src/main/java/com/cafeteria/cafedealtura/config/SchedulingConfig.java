@@ -0,0 +1,12 @@
+package com.cafeteria.cafedealtura.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Activa las tareas programadas ({@code @Scheduled}) de la aplicación.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,93 @@
+package com.cafeteria.cafedealtura.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.stat.HibernateMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Caché de segundo nivel de Hibernate (perfil l2-cache).
+ *
+ * Las regiones se crean aquí, cada una con un número máximo de entradas y,
+ * salvo la de marcas de tiempo, una caducidad tras la escritura
+ * ({@code app.l2-cache.expire-after-write-seconds}). Hibernate recibe el
+ * CacheManager ya preparado y falla al arrancar si necesita una región que no
+ * esté en {@link #REGIONS}, en lugar de crearla sin límites. Las estadísticas
+ * (aciertos y fallos por región) se publican como métricas de Micrometer.
+ */
+@Configuration
+@Profile("l2-cache")
+public class SecondLevelCacheConfig {
+
+    /**
+     * Marcas de tiempo de la última modificación de cada tabla. No debe
+     * caducar antes que los resultados de consultas que invalida.
+     */
+    static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    /**
+     * Regiones y su número máximo de entradas.
+     */
+    static final Map<String, Long> REGIONS = new LinkedHashMap<>();
+
+    static {
+        REGIONS.put("com.cafeteria.cafedealtura.domain.coffee.model.Coffee", 10_000L);
+        REGIONS.put("com.cafeteria.cafedealtura.domain.user.model.Role", 100L);
+        REGIONS.put("com.cafeteria.cafedealtura.domain.user.model.User.roles", 10_000L);
+        // Resultados de consultas cacheadas (RoleRepository.findByName)
+        REGIONS.put("default-query-results-region", 1_000L);
+        REGIONS.put(TIMESTAMPS_REGION, 1_000L);
+    }
+
+    @Bean
+    public CacheManager hibernateCacheManager(
+            @Value("${app.l2-cache.expire-after-write-seconds:600}") long expireAfterWriteSeconds) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        OptionalLong expireAfterWrite = OptionalLong.of(Duration.ofSeconds(expireAfterWriteSeconds).toNanos());
+        REGIONS.forEach((region, maximumSize) -> {
+            if (cacheManager.getCache(region) != null) {
+                return;
+            }
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>()
+                    .setStoreByValue(false)
+                    .setStatisticsEnabled(true)
+                    .setMaximumSize(OptionalLong.of(maximumSize));
+            if (!region.equals(TIMESTAMPS_REGION)) {
+                configuration.setExpireAfterWrite(expireAfterWrite);
+            }
+            cacheManager.createCache(region, configuration);
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public MeterBinder hibernateCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> new HibernateMetrics(entityManagerFactory.unwrap(SessionFactory.class),
+                "entityManagerFactory", Tags.empty()).bindTo(registry);
+    }
+}
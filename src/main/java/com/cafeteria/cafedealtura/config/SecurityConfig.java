@@ -55,7 +55,8 @@ public class SecurityConfig {
                         "/swagger-resources/**",
                         "/webjars/**",
                         "/configuration/**",
-                        "/doc.html")
+                        "/doc.html",
+                        "/actuator/**")
                 .permitAll()
                 .anyRequest().authenticated()
                 .and()
@@ -1,24 +1,41 @@
 package com.cafeteria.cafedealtura.controller;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Supplier;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.cafeteria.cafedealtura.common.constants.ApiConstants;
+import com.cafeteria.cafedealtura.common.http.ETags;
+import com.cafeteria.cafedealtura.common.pagination.CursorPage;
+import com.cafeteria.cafedealtura.domain.coffee.catalog.CatalogPayload;
 import com.cafeteria.cafedealtura.domain.coffee.dto.request.CreateCoffeeRequestDTO;
 import com.cafeteria.cafedealtura.domain.coffee.dto.request.UpdateCoffeeRequestDTO;
 import com.cafeteria.cafedealtura.domain.coffee.dto.response.CoffeeResponseDTO;
+import com.cafeteria.cafedealtura.domain.coffee.dto.response.CoffeeSuggestionDTO;
 import com.cafeteria.cafedealtura.domain.coffee.service.CoffeeService;
+import com.cafeteria.cafedealtura.domain.coffee.service.CoffeeSuggestionService;
 import com.cafeteria.cafedealtura.security.annotation.RequireRole;
 
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 /**
  * Controlador para la gestión de cafés.
+ * 
+ * Las lecturas del catálogo devuelven ETag y Cache-Control; con
+ * If-None-Match coincidente responden 304 sin consultar la base de datos ni
+ * serializar el cuerpo. Los listados y las estadísticas se escriben como
+ * bytes JSON precalculados, en gzip si el cliente lo acepta.
  */
 @RestController
 @RequestMapping("/api/coffees")
@@ -26,32 +43,146 @@ import org.springframework.beans.factory.annotation.Autowired;
 public class CafeController {
 
     private final CoffeeService coffeeService;
+    private final CoffeeSuggestionService coffeeSuggestionService;
+    private final CacheControl cacheControl;
 
     @Autowired
-    public CafeController(CoffeeService coffeeService) {
+    public CafeController(CoffeeService coffeeService, CoffeeSuggestionService coffeeSuggestionService,
+            @Value("${app.coffees.cache.max-age-seconds:5}") long maxAgeSeconds) {
         this.coffeeService = coffeeService;
+        this.coffeeSuggestionService = coffeeSuggestionService;
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds))
+                .cachePrivate()
+                .mustRevalidate();
     }
 
     /**
      * Obtiene todos los cafés con paginación.
      * 
-     * @param pageable Configuración de paginación
-     * @return Lista de cafés
+     * @param pageable       Configuración de paginación
+     * @param ifNoneMatch    ETag que ya tiene el cliente (opcional)
+     * @param acceptEncoding Codificaciones aceptadas por el cliente (opcional)
+     * @return Lista de cafés, o 304 si el catálogo no ha cambiado
      */
     @GetMapping
-    public ResponseEntity<List<CoffeeResponseDTO>> getAllCoffees(@PageableDefault(size = 10) Pageable pageable) {
-        return ResponseEntity.ok(coffeeService.findAll(pageable));
+    public ResponseEntity<byte[]> getAllCoffees(
+            @PageableDefault(size = 10) Pageable pageable,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return rendered(coffeeService.catalogETag(), ifNoneMatch, acceptEncoding,
+                coffeeService.isWholeCatalog(pageable), () -> coffeeService.renderAll(pageable));
+    }
+
+    /**
+     * Obtiene los cafés de un origen, ordenados por ID.
+     * 
+     * @param origin         Origen del café
+     * @param ifNoneMatch    ETag que ya tiene el cliente (opcional)
+     * @param acceptEncoding Codificaciones aceptadas por el cliente (opcional)
+     * @return Lista de cafés de ese origen, o 304 si el catálogo no ha cambiado
+     */
+    @GetMapping("/origin/{origin}")
+    public ResponseEntity<byte[]> getCoffeesByOrigin(
+            @PathVariable String origin,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return rendered(coffeeService.catalogETag(), ifNoneMatch, acceptEncoding, true,
+                () -> coffeeService.renderByOrigin(origin));
+    }
+
+    /**
+     * Filtra los cafés por rango de precio y, opcionalmente, por origen.
+     * Se resuelve con el índice de precios del catálogo en memoria.
+     * 
+     * @param min            Precio mínimo (inclusive, opcional)
+     * @param max            Precio máximo (inclusive, opcional)
+     * @param origin         Origen exigido (opcional)
+     * @param direction      Orden por precio: asc o desc
+     * @param limit          Número máximo de resultados
+     * @param ifNoneMatch    ETag que ya tiene el cliente (opcional)
+     * @param acceptEncoding Codificaciones aceptadas por el cliente (opcional)
+     * @return Cafés ordenados por precio, o 304 si el catálogo no ha cambiado
+     */
+    @GetMapping("/price")
+    public ResponseEntity<byte[]> getCoffeesByPrice(
+            @RequestParam(required = false) Double min,
+            @RequestParam(required = false) Double max,
+            @RequestParam(required = false) String origin,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = ApiConstants.DEFAULT_PAGE_SIZE) int limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return rendered(coffeeService.catalogETag(), ifNoneMatch, acceptEncoding, false,
+                () -> coffeeService.renderByPriceRange(min, max, origin, direction, limit));
+    }
+
+    /**
+     * Busca cafés por texto en nombre, descripción y origen.
+     * No distingue mayúsculas ni acentos ("cafe etiopia" encuentra "Café de
+     * Etiopía") y la última palabra admite prefijos para la búsqueda mientras
+     * se escribe.
+     * 
+     * @param q              Texto de búsqueda
+     * @param limit          Número máximo de resultados
+     * @param ifNoneMatch    ETag que ya tiene el cliente (opcional)
+     * @param acceptEncoding Codificaciones aceptadas por el cliente (opcional)
+     * @return Cafés de mayor a menor relevancia, o 304 si el catálogo no ha
+     *         cambiado
+     */
+    @GetMapping("/search")
+    public ResponseEntity<byte[]> searchCoffees(
+            @RequestParam String q,
+            @RequestParam(defaultValue = ApiConstants.DEFAULT_PAGE_SIZE) int limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return rendered(coffeeService.catalogETag(), ifNoneMatch, acceptEncoding, false,
+                () -> coffeeService.renderSearch(q, limit));
+    }
+
+    /**
+     * Autocompletado del buscador: nombres de café y orígenes que contienen
+     * una palabra que empieza por el prefijo, de más a menos vendidos.
+     * 
+     * @param prefix Texto escrito hasta ahora
+     * @param limit  Número máximo de sugerencias
+     * @return Sugerencias
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<CoffeeSuggestionDTO>> suggestCoffees(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = ApiConstants.DEFAULT_PAGE_SIZE) int limit) {
+        return ResponseEntity.ok(coffeeSuggestionService.suggest(prefix, limit));
+    }
+
+    /**
+     * Obtiene los cafés con paginación por cursor, ordenados por ID.
+     * 
+     * @param cursor Cursor opaco devuelto como nextCursor (omitir en la primera
+     *               página)
+     * @param size   Tamaño de página
+     * @return Página de cafés con el cursor de la siguiente
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<CoffeeResponseDTO>> scrollCoffees(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = ApiConstants.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(coffeeService.scroll(cursor, size));
     }
 
     /**
      * Busca un café por su ID.
+     * La cabecera ETag contiene su versión, para usarla en If-Match.
      * 
-     * @param id ID del café
-     * @return Café encontrado
+     * @param id          ID del café
+     * @param ifNoneMatch ETag que ya tiene el cliente (opcional)
+     * @return Café encontrado, o 304 si no ha cambiado
      */
     @GetMapping("/{id}")
-    public ResponseEntity<CoffeeResponseDTO> getCoffeeById(@PathVariable Long id) {
-        return ResponseEntity.ok(coffeeService.findById(id));
+    public ResponseEntity<CoffeeResponseDTO> getCoffeeById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        CoffeeResponseDTO coffee = coffeeService.findById(id);
+        return conditional(ETags.of(coffee.getVersion()), ifNoneMatch, () -> coffee);
     }
 
     /**
@@ -71,7 +202,12 @@ public class CafeController {
      * Actualiza un café existente.
      * Requiere rol ADMIN.
      * 
+     * Con If-Match solo se aplica si el café sigue en esa versión (412 en
+     * caso contrario); sin ella, un conflicto con otra escritura simultánea
+     * devuelve 409 en lugar de sobrescribirla.
+     * 
      * @param id        ID del café a actualizar
+     * @param ifMatch   ETag de la versión esperada (opcional)
      * @param updateDTO Nuevos datos del café
      * @return Café actualizado
      */
@@ -79,8 +215,11 @@ public class CafeController {
     @RequireRole("ADMIN")
     public ResponseEntity<CoffeeResponseDTO> updateCoffee(
             @PathVariable Long id,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
             @Valid @RequestBody UpdateCoffeeRequestDTO updateDTO) {
-        return ResponseEntity.ok(coffeeService.update(id, updateDTO));
+        Long expectedVersion = ETags.parseIfMatch(ifMatch);
+        CoffeeResponseDTO updated = coffeeService.update(id, updateDTO, expectedVersion);
+        return ResponseEntity.ok().eTag(ETags.of(updated.getVersion())).body(updated);
     }
 
     /**
@@ -99,10 +238,80 @@ public class CafeController {
     /**
      * Obtiene estadísticas de los cafés.
      * 
-     * @return Estadísticas de cafés
+     * @param ifNoneMatch    ETag que ya tiene el cliente (opcional)
+     * @param acceptEncoding Codificaciones aceptadas por el cliente (opcional)
+     * @return Estadísticas de cafés, o 304 si el catálogo no ha cambiado
      */
     @GetMapping("/stats")
-    public ResponseEntity<Map<String, Object>> getStats() {
-        return ResponseEntity.ok(coffeeService.getStats());
+    public ResponseEntity<byte[]> getStats(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return rendered(coffeeService.catalogETag(), ifNoneMatch, acceptEncoding, true,
+                coffeeService::renderStats);
+    }
+
+    /**
+     * Como {@link #conditional}, pero escribe directamente el JSON
+     * precalculado. Si existe versión gzip y el cliente la acepta, se envía
+     * esa con {@code Content-Encoding: gzip} y su propia ETag
+     * ({@link ETags#gzip}). El 304 no monta la respuesta: la ETag de la
+     * variante sale de {@code prerenderedGzip}, que cada endpoint conoce.
+     */
+    private ResponseEntity<byte[]> rendered(String eTag, String ifNoneMatch, String acceptEncoding,
+            boolean prerenderedGzip, Supplier<CatalogPayload> payload) {
+        if (ETags.matchesIfNoneMatch(ifNoneMatch, eTag)) {
+            boolean gzip = prerenderedGzip && acceptsGzip(acceptEncoding);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(gzip ? ETags.gzip(eTag) : eTag)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        CatalogPayload body = payload.get();
+        boolean gzip = body.hasGzip() && acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(gzip ? ETags.gzip(eTag) : eTag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.getGzip());
+        }
+        return response.body(body.getJson());
+    }
+
+    /**
+     * Responde 304 si el cliente ya tiene la ETag actual y, si no, el cuerpo
+     * con su ETag. La ETag se obtiene antes que el cuerpo, así que nunca
+     * anuncia una versión más nueva que la servida.
+     */
+    private <T> ResponseEntity<T> conditional(String eTag, String ifNoneMatch, Supplier<T> body) {
+        if (ETags.matchesIfNoneMatch(ifNoneMatch, eTag)) {
+            return notModified(eTag);
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .body(body.get());
+    }
+
+    private <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .build();
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
     }
 }
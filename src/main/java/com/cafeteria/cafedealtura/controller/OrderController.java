@@ -1,16 +1,36 @@
 package com.cafeteria.cafedealtura.controller;
 
+import com.cafeteria.cafedealtura.common.constants.ApiConstants;
+import com.cafeteria.cafedealtura.common.http.ETags;
+import com.cafeteria.cafedealtura.common.pagination.CursorPage;
+import com.cafeteria.cafedealtura.domain.order.dto.request.BulkCreateOrderRequestDTO;
 import com.cafeteria.cafedealtura.domain.order.dto.request.CreateOrderRequestDTO;
+import com.cafeteria.cafedealtura.domain.order.dto.request.OrderStatusTransitionRequestDTO;
 import com.cafeteria.cafedealtura.domain.order.dto.request.UpdateOrderRequestDTO;
+import com.cafeteria.cafedealtura.domain.order.dto.response.BulkOrderResponseDTO;
 import com.cafeteria.cafedealtura.domain.order.dto.response.OrderResponseDTO;
+import com.cafeteria.cafedealtura.domain.order.dto.response.OrderStatusResponseDTO;
+import com.cafeteria.cafedealtura.domain.order.model.OrderStatus;
+import com.cafeteria.cafedealtura.domain.order.service.OrderIdempotencyService;
 import com.cafeteria.cafedealtura.domain.order.service.OrderService;
+import com.cafeteria.cafedealtura.security.JwtPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 
 /**
  * Controlador REST para la gestión de pedidos.
@@ -24,9 +44,29 @@ import org.springframework.security.access.prepost.PreAuthorize;
  * - size: tamaño de página (default: 10)
  * Ejemplo: GET /api/orders?page=0&size=5
  * 
+ * - GET /api/orders/scroll - Listar pedidos con paginación por cursor
+ * Parámetros: cursor (opaco, devuelto como nextCursor) y size
+ * Ejemplo: GET /api/orders/scroll?size=20&cursor=MjAyNC0w...
+ * 
  * - GET /api/orders/{id} - Obtener un pedido por ID
- * - GET /api/orders/customer/{customerId} - Obtener pedidos por cliente
+ * - GET /api/orders/user/{userId} - Pedidos de un usuario (paginado)
+ * - GET /api/orders/status/{status} - Pedidos por estado (paginado)
+ * - GET /api/orders/range?start=...&end=... - Pedidos por fechas (paginado)
+ * Cada uno admite la variante /stream, que devuelve todos los resultados en
+ * NDJSON (un pedido por línea) con memoria constante en el servidor.
  * - POST /api/orders/{customerId} - Crear un nuevo pedido
+ * Admite la cabecera Idempotency-Key: los reintentos con la misma clave
+ * devuelven el pedido creado originalmente en lugar de duplicarlo.
+ * - POST /api/orders/bulk - Crear varios pedidos en una transacción
+ * Devuelve un resultado por pedido (creado o motivo del rechazo).
+ * - PATCH /api/orders/{id}/status - Avanzar el estado de un pedido
+ * Cuerpo: {"status": "CONFIRMED"}. Solo se aceptan las transiciones
+ * definidas en OrderStatus; devuelve 409 si el pedido cambió a la vez.
+ * - PUT /api/orders/{id} - Actualizar un pedido
+ * GET y PUT devuelven la versión en la cabecera ETag; con If-Match la
+ * actualización solo se aplica si el pedido sigue en esa versión (412 si no).
+ * Sin If-Match, si otra petición modifica el pedido a la vez se devuelve 409
+ * y el cliente decide si vuelve a intentarlo.
  * - DELETE /api/orders/{id} - Eliminar un pedido
  * 
  * Todas las respuestas de listado (GET /api/orders) incluyen metadatos de
@@ -44,22 +84,37 @@ import org.springframework.security.access.prepost.PreAuthorize;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderIdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderIdempotencyService idempotencyService,
+            ObjectMapper objectMapper) {
         this.orderService = orderService;
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
     }
 
     @PreAuthorize("isAuthenticated()")
     @PostMapping
-    public ResponseEntity<OrderResponseDTO> create(@Valid @RequestBody CreateOrderRequestDTO orderDTO) {
-        OrderResponseDTO saved = orderService.create(orderDTO);
+    public ResponseEntity<OrderResponseDTO> create(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody CreateOrderRequestDTO orderDTO,
+            Authentication authentication) {
+        OrderResponseDTO saved = idempotencyService.create(callerId(authentication), idempotencyKey, orderDTO);
         return ResponseEntity.ok(saved);
     }
 
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkOrderResponseDTO> createBulk(@Valid @RequestBody BulkCreateOrderRequestDTO bulkDTO) {
+        BulkOrderResponseDTO result = orderService.createBulk(bulkDTO.getOrders());
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<OrderResponseDTO> getById(@PathVariable Long id) {
         OrderResponseDTO order = orderService.findById(id);
-        return ResponseEntity.ok(order);
+        return ResponseEntity.ok().eTag(ETags.of(order.getVersion())).body(order);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -69,11 +124,72 @@ public class OrderController {
         return ResponseEntity.ok(orders);
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<OrderResponseDTO>> scroll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = ApiConstants.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(orderService.scroll(cursor, size));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<OrderResponseDTO>> getByUser(@PathVariable Long userId,
+            @PageableDefault(size = 10) Pageable pageable) {
+        return ResponseEntity.ok(orderService.findByUserId(userId, pageable));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/user/{userId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamByUser(@PathVariable Long userId) {
+        return ndjson(sink -> orderService.streamByUserId(userId, sink));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/status/{status}")
+    public ResponseEntity<List<OrderResponseDTO>> getByStatus(@PathVariable String status,
+            @PageableDefault(size = 10) Pageable pageable) {
+        return ResponseEntity.ok(orderService.findByStatus(status, pageable));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/status/{status}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamByStatus(@PathVariable String status) {
+        OrderStatus orderStatus = OrderStatus.parse(status);
+        return ndjson(sink -> orderService.streamByStatus(orderStatus, sink));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/range")
+    public ResponseEntity<List<OrderResponseDTO>> getByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @PageableDefault(size = 10) Pageable pageable) {
+        return ResponseEntity.ok(orderService.findByDateRange(start, end, pageable));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/range/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        return ndjson(sink -> orderService.streamByDateRange(start, end, sink));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<OrderResponseDTO> update(@PathVariable Long id,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
             @Valid @RequestBody UpdateOrderRequestDTO orderDTO) {
-        OrderResponseDTO updated = orderService.update(id, orderDTO);
-        return ResponseEntity.ok(updated);
+        Long expectedVersion = ETags.parseIfMatch(ifMatch);
+        OrderResponseDTO updated = orderService.update(id, orderDTO, expectedVersion);
+        return ResponseEntity.ok().eTag(ETags.of(updated.getVersion())).body(updated);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PatchMapping("/{id}/status")
+    public ResponseEntity<OrderStatusResponseDTO> transitionStatus(@PathVariable Long id,
+            @Valid @RequestBody OrderStatusTransitionRequestDTO transitionDTO) {
+        return ResponseEntity.ok(orderService.transitionStatus(id, transitionDTO.getStatus()));
     }
 
     @DeleteMapping("/{id}")
@@ -81,4 +197,41 @@ public class OrderController {
         orderService.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Escribe los pedidos en la respuesta en formato NDJSON (un objeto JSON por
+     * línea) a medida que se leen de la base de datos.
+     */
+    private ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<OrderResponseDTO>> source) {
+        StreamingResponseBody body = out -> {
+            try {
+                source.accept(order -> writeLine(out, order));
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private void writeLine(OutputStream out, OrderResponseDTO order) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(order));
+            out.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Identificador del usuario autenticado: su ID con autenticación sin
+     * estado y, si no, su email (que también es único).
+     */
+    private static String callerId(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return String.valueOf(principal.getUserId());
+        }
+        return authentication.getName();
+    }
 }
@@ -0,0 +1,64 @@
+package com.cafeteria.cafedealtura.domain.coffee.catalog;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Respuesta JSON ya serializada a UTF-8 y, opcionalmente, comprimida con
+ * gzip.
+ *
+ * Los arrays se comparten entre todas las peticiones que sirven la misma
+ * instantánea del catálogo, por lo que nunca deben modificarse.
+ */
+public final class CatalogPayload {
+    private final byte[] json;
+    private final byte[] gzip;
+
+    private CatalogPayload(byte[] json, byte[] gzip) {
+        this.json = json;
+        this.gzip = gzip;
+    }
+
+    /**
+     * @param json JSON en UTF-8
+     * @return Payload sin versión comprimida
+     */
+    public static CatalogPayload of(byte[] json) {
+        return new CatalogPayload(json, null);
+    }
+
+    /**
+     * @param json JSON en UTF-8
+     * @return Payload con el JSON y su versión gzip
+     */
+    public static CatalogPayload compressed(byte[] json) {
+        return new CatalogPayload(json, gzip(json));
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    /**
+     * @return JSON comprimido con gzip, o null si no se generó
+     */
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(data);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo comprimir el catálogo", ex);
+        }
+        return buffer.toByteArray();
+    }
+}
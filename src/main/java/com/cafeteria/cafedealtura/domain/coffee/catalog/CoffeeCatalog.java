@@ -0,0 +1,139 @@
+package com.cafeteria.cafedealtura.domain.coffee.catalog;
+
+import com.cafeteria.cafedealtura.domain.coffee.dto.response.CoffeeResponseDTO;
+import com.cafeteria.cafedealtura.domain.coffee.repository.CoffeeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Catálogo de cafés en memoria orientado a lectura.
+ *
+ * Mantiene una {@link CoffeeCatalogSnapshot} inmutable que se carga una vez
+ * desde la base de datos y se sustituye de forma atómica cuando confirma una
+ * escritura de {@code CoffeeService} (write-through). Las lecturas no tocan
+ * JPA, y el JSON de los listados se serializa al cambiar el catálogo, no en
+ * cada petición.
+ */
+@Component
+public class CoffeeCatalog {
+    private static final Logger logger = LoggerFactory.getLogger(CoffeeCatalog.class);
+    private static final int MAX_RELOAD_ATTEMPTS = 3;
+
+    private final CoffeeRepository coffeeRepository;
+    private final CoffeeCatalogRenderer renderer;
+    private final AtomicReference<CoffeeCatalogSnapshot> current = new AtomicReference<>();
+
+    /**
+     * Identifica esta instancia del catálogo: la versión vuelve a empezar en
+     * cada arranque, así que la ETag incluye también el instante de creación.
+     */
+    private final long epoch = System.currentTimeMillis();
+
+    @Autowired
+    public CoffeeCatalog(CoffeeRepository coffeeRepository, ObjectMapper objectMapper) {
+        this.coffeeRepository = coffeeRepository;
+        this.renderer = new CoffeeCatalogRenderer(objectMapper);
+    }
+
+    /**
+     * Carga el catálogo al arrancar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reload();
+    }
+
+    /**
+     * Devuelve la instantánea vigente, cargándola si aún no existe.
+     *
+     * @return Instantánea actual del catálogo
+     */
+    public CoffeeCatalogSnapshot snapshot() {
+        CoffeeCatalogSnapshot snapshot = current.get();
+        return snapshot != null ? snapshot : reload();
+    }
+
+    /**
+     * ETag fuerte de la instantánea vigente. Cambia con cada escritura de
+     * {@code CoffeeService} y con cada arranque.
+     *
+     * @return ETag entre comillas
+     */
+    public String eTag() {
+        return "\"catalog-" + epoch + "-" + snapshot().getVersion() + "\"";
+    }
+
+    /**
+     * Vuelve a leer el catálogo completo desde la base de datos.
+     *
+     * La consulta se hace sin ningún bloqueo y el resultado se publica con un
+     * compare-and-set sobre la instantánea de la que se partió: si mientras
+     * tanto se ha publicado otra (una escritura confirmada u otra recarga), la
+     * lectura puede ser anterior a ella y se descarta para no pisar datos más
+     * nuevos. Tras {@link #MAX_RELOAD_ATTEMPTS} intentos se conserva la
+     * instantánea vigente.
+     *
+     * @return Instantánea publicada (la nueva o la vigente si no se pudo
+     *         publicar)
+     */
+    public CoffeeCatalogSnapshot reload() {
+        for (int attempt = 1; attempt <= MAX_RELOAD_ATTEMPTS; attempt++) {
+            CoffeeCatalogSnapshot previous = current.get();
+            long version = previous != null ? previous.getVersion() + 1 : 1;
+            CoffeeCatalogSnapshot snapshot = CoffeeCatalogSnapshot.of(version, coffeeRepository.findAll().stream()
+                    .map(CoffeeResponseDTO::new)
+                    .toList(), renderer);
+            if (current.compareAndSet(previous, snapshot)) {
+                logger.debug("Catálogo de cafés cargado: {} cafés, versión {}", snapshot.getCoffees().size(), version);
+                return snapshot;
+            }
+            logger.debug("Recarga del catálogo descartada: se publicó otra instantánea durante la lectura");
+        }
+        logger.warn("No se pudo recargar el catálogo tras {} intentos; se mantiene la versión {}",
+                MAX_RELOAD_ATTEMPTS, current.get().getVersion());
+        return current.get();
+    }
+
+    /**
+     * Publica un café creado o actualizado cuando confirme la transacción
+     * actual.
+     *
+     * @param coffee Café guardado
+     */
+    public void upsertAfterCommit(CoffeeResponseDTO coffee) {
+        afterCommit(snapshot -> snapshot.withUpsert(coffee));
+    }
+
+    /**
+     * Retira un café eliminado cuando confirme la transacción actual.
+     *
+     * @param id ID del café eliminado
+     */
+    public void removeAfterCommit(Long id) {
+        afterCommit(snapshot -> snapshot.withRemoval(id));
+    }
+
+    private void afterCommit(UnaryOperator<CoffeeCatalogSnapshot> change) {
+        Runnable apply = () -> current.updateAndGet(snapshot -> snapshot != null ? change.apply(snapshot) : null);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.cafeteria.cafedealtura.domain.coffee.catalog;
+
+import com.cafeteria.cafedealtura.domain.coffee.dto.response.CoffeeResponseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializa una instantánea del catálogo a {@link RenderedCatalog}.
+ *
+ * Usa el mismo {@link ObjectMapper} que los controladores, así que el JSON
+ * es idéntico al que produciría Jackson en cada petición. Cuando se parte de
+ * una instantánea anterior solo se serializan los cafés y orígenes que han
+ * cambiado; el resto de fragmentos se reutiliza.
+ */
+public final class CoffeeCatalogRenderer {
+    private final ObjectMapper objectMapper;
+
+    public CoffeeCatalogRenderer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param coffees  Cafés ordenados por ID
+     * @param byOrigin Cafés agrupados por origen
+     * @param stats    Estadísticas del catálogo
+     * @param previous Instantánea anterior, o null en una carga completa
+     * @return Catálogo serializado
+     */
+    RenderedCatalog render(List<CoffeeResponseDTO> coffees, Map<String, List<CoffeeResponseDTO>> byOrigin,
+            Map<String, Object> stats, CoffeeCatalogSnapshot previous) {
+        RenderedCatalog previousRendering = previous != null ? previous.getRendered() : null;
+
+        Map<Long, byte[]> fragments = new HashMap<>();
+        for (CoffeeResponseDTO coffee : coffees) {
+            boolean unchanged = previousRendering != null && previous.findById(coffee.getId()) == coffee;
+            fragments.put(coffee.getId(), unchanged ? previousRendering.fragment(coffee.getId()) : write(coffee));
+        }
+
+        Map<String, CatalogPayload> originPayloads = new HashMap<>();
+        byOrigin.forEach((origin, list) -> {
+            boolean unchanged = previousRendering != null && previous.findByOrigin(origin).equals(list);
+            originPayloads.put(origin, unchanged
+                    ? previousRendering.getByOrigin(origin)
+                    : CatalogPayload.compressed(RenderedCatalog.join(list, fragments)));
+        });
+
+        return new RenderedCatalog(
+                Collections.unmodifiableMap(fragments),
+                CatalogPayload.compressed(RenderedCatalog.join(coffees, fragments)),
+                Collections.unmodifiableMap(originPayloads),
+                CatalogPayload.compressed(write(stats)));
+    }
+
+    private byte[] write(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("No se pudo serializar el catálogo de cafés", ex);
+        }
+    }
+}
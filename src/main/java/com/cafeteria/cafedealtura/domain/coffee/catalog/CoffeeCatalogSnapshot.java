@@ -0,0 +1,197 @@
+package com.cafeteria.cafedealtura.domain.coffee.catalog;
+
+import com.cafeteria.cafedealtura.domain.coffee.dto.response.CoffeeResponseDTO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Instantánea inmutable del catálogo de cafés.
+ *
+ * Contiene los cafés ordenados por ID junto con los índices y estadísticas
+ * derivados, además de su representación JSON ya serializada
+ * ({@link RenderedCatalog}). Cada escritura produce una instantánea nueva con
+ * la versión incrementada; las lecturas nunca ven un estado a medio construir.
+ */
+public final class CoffeeCatalogSnapshot {
+    private final long version;
+    private final List<CoffeeResponseDTO> coffees;
+    private final Map<Long, CoffeeResponseDTO> byId;
+    private final Map<String, List<CoffeeResponseDTO>> byOrigin;
+    private final Map<String, Object> stats;
+    private final PriceIndex priceIndex;
+    private final SearchIndex searchIndex;
+    private final CoffeeCatalogRenderer renderer;
+    private final RenderedCatalog rendered;
+
+    private CoffeeCatalogSnapshot(long version, List<CoffeeResponseDTO> coffees, PriceIndex priceIndex,
+            SearchIndex searchIndex, CoffeeCatalogRenderer renderer, CoffeeCatalogSnapshot previous) {
+        this.version = version;
+        this.coffees = Collections.unmodifiableList(coffees);
+
+        Map<Long, CoffeeResponseDTO> idIndex = new HashMap<>();
+        Map<String, List<CoffeeResponseDTO>> originIndex = new HashMap<>();
+        for (CoffeeResponseDTO coffee : coffees) {
+            idIndex.put(coffee.getId(), coffee);
+            originIndex.computeIfAbsent(coffee.getOrigin(), origin -> new ArrayList<>()).add(coffee);
+        }
+        originIndex.replaceAll((origin, list) -> Collections.unmodifiableList(list));
+        this.byId = Collections.unmodifiableMap(idIndex);
+        this.byOrigin = Collections.unmodifiableMap(originIndex);
+        this.stats = Collections.unmodifiableMap(computeStats(coffees));
+        this.priceIndex = priceIndex != null ? priceIndex : PriceIndex.of(coffees);
+        this.searchIndex = searchIndex != null ? searchIndex : SearchIndex.of(coffees);
+        this.renderer = renderer;
+        this.rendered = renderer.render(this.coffees, this.byOrigin, this.stats, previous);
+    }
+
+    /**
+     * Construye una instantánea a partir de un conjunto de cafés.
+     *
+     * @param version  Versión del catálogo
+     * @param coffees  Cafés del catálogo en cualquier orden
+     * @param renderer Serializador del JSON precalculado
+     * @return Nueva instantánea
+     */
+    public static CoffeeCatalogSnapshot of(long version, Collection<CoffeeResponseDTO> coffees,
+            CoffeeCatalogRenderer renderer) {
+        return of(version, coffees, null, null, renderer, null);
+    }
+
+    private static CoffeeCatalogSnapshot of(long version, Collection<CoffeeResponseDTO> coffees,
+            PriceIndex priceIndex, SearchIndex searchIndex, CoffeeCatalogRenderer renderer,
+            CoffeeCatalogSnapshot previous) {
+        List<CoffeeResponseDTO> sorted = new ArrayList<>(coffees);
+        sorted.sort(Comparator.comparing(CoffeeResponseDTO::getId));
+        return new CoffeeCatalogSnapshot(version, sorted, priceIndex, searchIndex, renderer, previous);
+    }
+
+    /**
+     * Devuelve una nueva instantánea con el café insertado o reemplazado.
+     *
+     * @param coffee Café creado o actualizado
+     * @return Nueva instantánea con la versión incrementada
+     */
+    public CoffeeCatalogSnapshot withUpsert(CoffeeResponseDTO coffee) {
+        Map<Long, CoffeeResponseDTO> updated = new LinkedHashMap<>(byId);
+        updated.put(coffee.getId(), coffee);
+        CoffeeResponseDTO previous = byId.get(coffee.getId());
+        return of(version + 1, updated.values(),
+                priceIndex.withUpsert(previous, coffee),
+                searchIndex.withUpsert(previous, coffee),
+                renderer, this);
+    }
+
+    /**
+     * Devuelve una nueva instantánea sin el café indicado.
+     *
+     * @param id ID del café eliminado
+     * @return Nueva instantánea con la versión incrementada
+     */
+    public CoffeeCatalogSnapshot withRemoval(Long id) {
+        Map<Long, CoffeeResponseDTO> updated = new LinkedHashMap<>(byId);
+        CoffeeResponseDTO removed = updated.remove(id);
+        if (removed == null) {
+            return of(version + 1, updated.values(), priceIndex, searchIndex, renderer, this);
+        }
+        return of(version + 1, updated.values(),
+                priceIndex.withRemoval(removed),
+                searchIndex.withRemoval(removed),
+                renderer, this);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return Cafés ordenados por ID
+     */
+    public List<CoffeeResponseDTO> getCoffees() {
+        return coffees;
+    }
+
+    /**
+     * Posición del primer café con ID mayor que el indicado, mediante búsqueda
+     * binaria sobre la lista ordenada por ID.
+     *
+     * @param id ID de referencia
+     * @return Índice en {@link #getCoffees()} (igual al tamaño si no hay más)
+     */
+    public int indexAfter(long id) {
+        int low = 0;
+        int high = coffees.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (coffees.get(mid).getId() <= id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public CoffeeResponseDTO findById(Long id) {
+        return byId.get(id);
+    }
+
+    public List<CoffeeResponseDTO> findByOrigin(String origin) {
+        return byOrigin.getOrDefault(origin, List.of());
+    }
+
+    public Map<String, Object> getStats() {
+        return stats;
+    }
+
+    /**
+     * @return Índice de los cafés ordenados por precio
+     */
+    public PriceIndex getPriceIndex() {
+        return priceIndex;
+    }
+
+    /**
+     * Búsqueda de texto sobre nombre, descripción y origen.
+     *
+     * @param query Texto de búsqueda
+     * @param limit Número máximo de resultados
+     * @return Cafés de mayor a menor relevancia
+     */
+    public List<CoffeeResponseDTO> search(String query, int limit) {
+        List<Long> ids = searchIndex.search(query, limit);
+        List<CoffeeResponseDTO> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            result.add(byId.get(id));
+        }
+        return result;
+    }
+
+    /**
+     * @return JSON precalculado de esta instantánea
+     */
+    public RenderedCatalog getRendered() {
+        return rendered;
+    }
+
+    private static Map<String, Object> computeStats(List<CoffeeResponseDTO> coffees) {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalCafes", coffees.size());
+        stats.put("precioPromedio", coffees.stream()
+                .mapToDouble(CoffeeResponseDTO::getPrice)
+                .average()
+                .orElse(0.0));
+        stats.put("origenes", coffees.stream()
+                .collect(Collectors.groupingBy(
+                        CoffeeResponseDTO::getOrigin,
+                        Collectors.counting())));
+        return stats;
+    }
+}
@@ -0,0 +1,215 @@
+package com.cafeteria.cafedealtura.domain.coffee.catalog;
+
+import com.cafeteria.cafedealtura.domain.coffee.dto.response.CoffeeResponseDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice inmutable de cafés ordenados por precio (y por ID en caso de
+ * empate).
+ *
+ * Los precios se guardan en un array primitivo para resolver los rangos con
+ * búsqueda binaria, y cada origen tiene un {@link BitSet} sobre las mismas
+ * posiciones para combinar el filtro de precio con el de origen sin recorrer
+ * el catálogo. Una escritura desplaza los arrays con
+ * {@link System#arraycopy} en lugar de volver a ordenarlos.
+ */
+public final class PriceIndex {
+    private final double[] prices;
+    private final long[] ids;
+    private final CoffeeResponseDTO[] coffees;
+    private final Map<String, BitSet> byOrigin;
+
+    private PriceIndex(double[] prices, long[] ids, CoffeeResponseDTO[] coffees) {
+        this.prices = prices;
+        this.ids = ids;
+        this.coffees = coffees;
+
+        Map<String, BitSet> originIndex = new HashMap<>();
+        for (int i = 0; i < coffees.length; i++) {
+            originIndex.computeIfAbsent(coffees[i].getOrigin(), origin -> new BitSet(coffees.length)).set(i);
+        }
+        this.byOrigin = Collections.unmodifiableMap(originIndex);
+    }
+
+    /**
+     * Construye el índice ordenando los cafés por precio.
+     *
+     * @param coffees Cafés en cualquier orden
+     * @return Nuevo índice
+     */
+    public static PriceIndex of(Collection<CoffeeResponseDTO> coffees) {
+        CoffeeResponseDTO[] sorted = coffees.toArray(new CoffeeResponseDTO[0]);
+        Arrays.sort(sorted, Comparator.comparing(CoffeeResponseDTO::getPrice)
+                .thenComparing(CoffeeResponseDTO::getId));
+
+        double[] prices = new double[sorted.length];
+        long[] ids = new long[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            prices[i] = sorted[i].getPrice();
+            ids[i] = sorted[i].getId();
+        }
+        return new PriceIndex(prices, ids, sorted);
+    }
+
+    /**
+     * Devuelve un índice nuevo con el café insertado o reemplazado.
+     *
+     * @param previous Versión anterior del café, o null si es nuevo
+     * @param coffee   Café creado o actualizado
+     * @return Nuevo índice
+     */
+    PriceIndex withUpsert(CoffeeResponseDTO previous, CoffeeResponseDTO coffee) {
+        PriceIndex base = previous != null ? withRemoval(previous) : this;
+        int position = base.position(coffee.getPrice(), coffee.getId());
+        int size = base.coffees.length;
+
+        double[] newPrices = new double[size + 1];
+        long[] newIds = new long[size + 1];
+        CoffeeResponseDTO[] newCoffees = new CoffeeResponseDTO[size + 1];
+        insert(base.prices, newPrices, position, size);
+        insert(base.ids, newIds, position, size);
+        insert(base.coffees, newCoffees, position, size);
+        newPrices[position] = coffee.getPrice();
+        newIds[position] = coffee.getId();
+        newCoffees[position] = coffee;
+        return new PriceIndex(newPrices, newIds, newCoffees);
+    }
+
+    /**
+     * Devuelve un índice nuevo sin el café indicado.
+     *
+     * @param previous Café eliminado, tal y como está en el índice
+     * @return Nuevo índice (el mismo si el café no estaba)
+     */
+    PriceIndex withRemoval(CoffeeResponseDTO previous) {
+        int position = position(previous.getPrice(), previous.getId());
+        if (position >= coffees.length || ids[position] != previous.getId()) {
+            return this;
+        }
+        int size = coffees.length;
+
+        double[] newPrices = new double[size - 1];
+        long[] newIds = new long[size - 1];
+        CoffeeResponseDTO[] newCoffees = new CoffeeResponseDTO[size - 1];
+        remove(prices, newPrices, position, size);
+        remove(ids, newIds, position, size);
+        remove(coffees, newCoffees, position, size);
+        return new PriceIndex(newPrices, newIds, newCoffees);
+    }
+
+    /**
+     * Cafés con precio dentro del rango, opcionalmente de un único origen.
+     *
+     * @param minPrice   Precio mínimo (inclusive)
+     * @param maxPrice   Precio máximo (inclusive)
+     * @param origin     Origen exigido, o null para cualquiera
+     * @param descending true para ordenar de mayor a menor precio
+     * @param limit      Número máximo de resultados
+     * @return Cafés ordenados por precio
+     */
+    public List<CoffeeResponseDTO> range(double minPrice, double maxPrice, String origin, boolean descending,
+            int limit) {
+        int from = lowerBound(minPrice);
+        int to = upperBound(maxPrice);
+        if (from >= to || limit <= 0) {
+            return List.of();
+        }
+        BitSet originBits = null;
+        if (origin != null) {
+            originBits = byOrigin.get(origin);
+            if (originBits == null) {
+                return List.of();
+            }
+        }
+
+        List<CoffeeResponseDTO> result = new ArrayList<>(Math.min(limit, to - from));
+        if (descending) {
+            int i = originBits != null ? originBits.previousSetBit(to - 1) : to - 1;
+            while (i >= from && result.size() < limit) {
+                result.add(coffees[i]);
+                i = originBits != null ? originBits.previousSetBit(i - 1) : i - 1;
+            }
+        } else {
+            int i = originBits != null ? originBits.nextSetBit(from) : from;
+            while (i >= 0 && i < to && result.size() < limit) {
+                result.add(coffees[i]);
+                i = originBits != null ? originBits.nextSetBit(i + 1) : i + 1;
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return coffees.length;
+    }
+
+    /**
+     * Primera posición con precio mayor o igual que el indicado.
+     */
+    private int lowerBound(double price) {
+        int low = 0;
+        int high = prices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] < price) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Primera posición con precio estrictamente mayor que el indicado.
+     */
+    private int upperBound(double price) {
+        int low = 0;
+        int high = prices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] <= price) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Posición de la pareja (precio, ID), o la que le correspondería.
+     */
+    private int position(double price, long id) {
+        int low = 0;
+        int high = prices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] < price || (prices[mid] == price && ids[mid] < id)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static void insert(Object source, Object target, int position, int size) {
+        System.arraycopy(source, 0, target, 0, position);
+        System.arraycopy(source, position, target, position + 1, size - position);
+    }
+
+    private static void remove(Object source, Object target, int position, int size) {
+        System.arraycopy(source, 0, target, 0, position);
+        System.arraycopy(source, position + 1, target, position, size - position - 1);
+    }
+}
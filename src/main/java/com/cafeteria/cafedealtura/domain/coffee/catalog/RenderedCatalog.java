@@ -0,0 +1,85 @@
+package com.cafeteria.cafedealtura.domain.coffee.catalog;
+
+import com.cafeteria.cafedealtura.domain.coffee.dto.response.CoffeeResponseDTO;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Representación JSON precalculada de una {@link CoffeeCatalogSnapshot}.
+ *
+ * Guarda el fragmento JSON de cada café y, ya montados, el listado completo,
+ * los listados por origen y las estadísticas. Cualquier otra selección de
+ * cafés (una página, un orden distinto) se arma copiando fragmentos, sin
+ * volver a serializar.
+ */
+public final class RenderedCatalog {
+    private static final CatalogPayload EMPTY = CatalogPayload.compressed(new byte[] { '[', ']' });
+
+    private final Map<Long, byte[]> fragments;
+    private final CatalogPayload all;
+    private final Map<String, CatalogPayload> byOrigin;
+    private final CatalogPayload stats;
+
+    RenderedCatalog(Map<Long, byte[]> fragments, CatalogPayload all, Map<String, CatalogPayload> byOrigin,
+            CatalogPayload stats) {
+        this.fragments = fragments;
+        this.all = all;
+        this.byOrigin = byOrigin;
+        this.stats = stats;
+    }
+
+    /**
+     * @return Todos los cafés ordenados por ID
+     */
+    public CatalogPayload getAll() {
+        return all;
+    }
+
+    /**
+     * @param origin Origen del café
+     * @return Cafés de ese origen ordenados por ID (lista vacía si no hay)
+     */
+    public CatalogPayload getByOrigin(String origin) {
+        return byOrigin.getOrDefault(origin, EMPTY);
+    }
+
+    public CatalogPayload getStats() {
+        return stats;
+    }
+
+    /**
+     * Monta un array JSON con los cafés indicados a partir de sus fragmentos.
+     *
+     * @param coffees Cafés de esta instantánea, en el orden deseado
+     * @return Payload sin comprimir
+     */
+    public CatalogPayload array(List<CoffeeResponseDTO> coffees) {
+        return CatalogPayload.of(join(coffees, fragments));
+    }
+
+    byte[] fragment(Long id) {
+        return fragments.get(id);
+    }
+
+    static byte[] join(List<CoffeeResponseDTO> coffees, Map<Long, byte[]> fragments) {
+        int size = 2 + Math.max(0, coffees.size() - 1);
+        for (CoffeeResponseDTO coffee : coffees) {
+            size += fragments.get(coffee.getId()).length;
+        }
+
+        byte[] out = new byte[size];
+        int position = 0;
+        out[position++] = '[';
+        for (int i = 0; i < coffees.size(); i++) {
+            if (i > 0) {
+                out[position++] = ',';
+            }
+            byte[] fragment = fragments.get(coffees.get(i).getId());
+            System.arraycopy(fragment, 0, out, position, fragment.length);
+            position += fragment.length;
+        }
+        out[position] = ']';
+        return out;
+    }
+}
@@ -0,0 +1,192 @@
+package com.cafeteria.cafedealtura.domain.coffee.catalog;
+
+import com.cafeteria.cafedealtura.domain.coffee.dto.response.CoffeeResponseDTO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Índice invertido inmutable sobre el nombre, la descripción y el origen de
+ * los cafés.
+ *
+ * Cada término normalizado con {@link SearchText} apunta al peso que tiene en
+ * cada café: una aparición en el nombre vale más que en el origen, y esta más
+ * que en la descripción. Los términos se guardan ordenados, de modo que la
+ * última palabra de la consulta se resuelve también como prefijo (búsqueda
+ * mientras se escribe). La relevancia es la suma de peso por IDF de cada
+ * palabra, y un café debe contener todas las palabras de la consulta.
+ */
+public final class SearchIndex {
+    static final float NAME_WEIGHT = 3f;
+    static final float ORIGIN_WEIGHT = 2f;
+    static final float DESCRIPTION_WEIGHT = 1f;
+    static final float PREFIX_FACTOR = 0.6f;
+    static final int MAX_QUERY_TERMS = 8;
+
+    private final NavigableMap<String, Map<Long, Float>> postings;
+    private final int documents;
+
+    private SearchIndex(NavigableMap<String, Map<Long, Float>> postings, int documents) {
+        this.postings = postings;
+        this.documents = documents;
+    }
+
+    /**
+     * Construye el índice completo.
+     *
+     * @param coffees Cafés del catálogo
+     * @return Nuevo índice
+     */
+    public static SearchIndex of(Collection<CoffeeResponseDTO> coffees) {
+        Map<String, Map<Long, Float>> building = new HashMap<>();
+        for (CoffeeResponseDTO coffee : coffees) {
+            termWeights(coffee).forEach((term, weight) ->
+                    building.computeIfAbsent(term, key -> new HashMap<>()).put(coffee.getId(), weight));
+        }
+        NavigableMap<String, Map<Long, Float>> sorted = new TreeMap<>();
+        building.forEach((term, docs) -> sorted.put(term, Collections.unmodifiableMap(docs)));
+        return new SearchIndex(sorted, coffees.size());
+    }
+
+    /**
+     * Devuelve un índice nuevo con el café insertado o reemplazado. Solo se
+     * copian las listas de los términos del café; el resto se comparten.
+     *
+     * @param previous Versión anterior del café, o null si es nuevo
+     * @param coffee   Café creado o actualizado
+     * @return Nuevo índice
+     */
+    SearchIndex withUpsert(CoffeeResponseDTO previous, CoffeeResponseDTO coffee) {
+        NavigableMap<String, Map<Long, Float>> updated = new TreeMap<>(postings);
+        if (previous != null) {
+            removeDocument(updated, previous);
+        }
+        termWeights(coffee).forEach((term, weight) -> {
+            Map<Long, Float> docs = new HashMap<>(updated.getOrDefault(term, Map.of()));
+            docs.put(coffee.getId(), weight);
+            updated.put(term, Collections.unmodifiableMap(docs));
+        });
+        return new SearchIndex(updated, previous != null ? documents : documents + 1);
+    }
+
+    /**
+     * Devuelve un índice nuevo sin el café indicado.
+     *
+     * @param previous Café eliminado
+     * @return Nuevo índice
+     */
+    SearchIndex withRemoval(CoffeeResponseDTO previous) {
+        NavigableMap<String, Map<Long, Float>> updated = new TreeMap<>(postings);
+        removeDocument(updated, previous);
+        return new SearchIndex(updated, Math.max(0, documents - 1));
+    }
+
+    /**
+     * Busca cafés que contengan todas las palabras de la consulta.
+     *
+     * La última palabra se usa como prefijo aunque sea una palabra vacía, ya
+     * que puede estar a medio escribir ("de" mientras se escribe
+     * "descafeinado"); en ese caso solo cuenta como prefijo.
+     *
+     * @param query Texto de búsqueda
+     * @param limit Número máximo de resultados
+     * @return IDs de los cafés, de mayor a menor relevancia (y por ID en caso
+     *         de empate)
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> terms = SearchText.tokens(query);
+        String trailingStopWord = SearchText.trailingStopWord(query);
+        if (trailingStopWord != null) {
+            terms.add(trailingStopWord);
+        }
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        if (terms.size() > MAX_QUERY_TERMS) {
+            terms = terms.subList(0, MAX_QUERY_TERMS);
+        }
+
+        Map<Long, Float> scores = null;
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            Map<Long, Float> matches = new HashMap<>();
+            collect(postings.get(term), 1f, matches);
+            if (i == terms.size() - 1) {
+                for (Map<Long, Float> docs : postings.subMap(term, false, term + Character.MAX_VALUE, false).values()) {
+                    collect(docs, PREFIX_FACTOR, matches);
+                }
+            }
+
+            if (scores == null) {
+                scores = matches;
+            } else {
+                Map<Long, Float> previous = scores;
+                matches.keySet().retainAll(previous.keySet());
+                matches.replaceAll((id, score) -> score + previous.get(id));
+                scores = matches;
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        List<Map.Entry<Long, Float>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort((a, b) -> {
+            int byScore = Float.compare(b.getValue(), a.getValue());
+            return byScore != 0 ? byScore : Long.compare(a.getKey(), b.getKey());
+        });
+        List<Long> ids = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            ids.add(ranked.get(i).getKey());
+        }
+        return ids;
+    }
+
+    /**
+     * Añade a {@code matches} la mejor puntuación de cada café para una
+     * palabra de la consulta.
+     */
+    private void collect(Map<Long, Float> docs, float factor, Map<Long, Float> matches) {
+        if (docs == null) {
+            return;
+        }
+        float idf = (float) Math.log(1 + (double) documents / docs.size());
+        docs.forEach((id, weight) -> matches.merge(id, weight * idf * factor, Math::max));
+    }
+
+    private static void removeDocument(NavigableMap<String, Map<Long, Float>> postings, CoffeeResponseDTO coffee) {
+        for (String term : termWeights(coffee).keySet()) {
+            Map<Long, Float> current = postings.get(term);
+            if (current == null || !current.containsKey(coffee.getId())) {
+                continue;
+            }
+            if (current.size() == 1) {
+                postings.remove(term);
+            } else {
+                Map<Long, Float> docs = new HashMap<>(current);
+                docs.remove(coffee.getId());
+                postings.put(term, Collections.unmodifiableMap(docs));
+            }
+        }
+    }
+
+    private static Map<String, Float> termWeights(CoffeeResponseDTO coffee) {
+        Map<String, Float> weights = new HashMap<>();
+        addTerms(weights, coffee.getName(), NAME_WEIGHT);
+        addTerms(weights, coffee.getOrigin(), ORIGIN_WEIGHT);
+        addTerms(weights, coffee.getDescription(), DESCRIPTION_WEIGHT);
+        return weights;
+    }
+
+    private static void addTerms(Map<String, Float> weights, String text, float weight) {
+        for (String term : SearchText.tokens(text)) {
+            weights.merge(term, weight, Float::sum);
+        }
+    }
+}
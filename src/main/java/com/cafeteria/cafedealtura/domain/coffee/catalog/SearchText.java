@@ -0,0 +1,69 @@
+package com.cafeteria.cafedealtura.domain.coffee.catalog;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalización de texto para las búsquedas del catálogo.
+ *
+ * Pasa a minúsculas y elimina los acentos ("Etiopía" y "etiopia" son el
+ * mismo término), y parte el texto en palabras descartando las más
+ * frecuentes del español, que no ayudan a distinguir un café de otro.
+ */
+public final class SearchText {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "de", "del", "la", "las", "el", "los", "un", "una", "y", "e", "o", "con", "en", "para", "por", "al");
+
+    private SearchText() {
+        // Prevenir instanciación
+    }
+
+    /**
+     * @param text Texto original
+     * @return Texto en minúsculas y sin acentos
+     */
+    public static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param text Texto original (puede ser null)
+     * @return Palabras normalizadas, en orden y sin palabras vacías
+     */
+    public static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : SEPARATORS.split(fold(text))) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Palabra vacía que se está escribiendo al final del texto, que puede ser
+     * el comienzo de otra ("de" de "descafeinado").
+     *
+     * @param text Texto original (puede ser null)
+     * @return La última palabra normalizada si es una palabra vacía y el texto
+     *         no termina en separador; null en otro caso
+     */
+    public static String trailingStopWord(String text) {
+        if (text == null || text.isEmpty() || SEPARATORS.matcher(text.substring(text.length() - 1)).matches()) {
+            return null;
+        }
+        String[] words = SEPARATORS.split(fold(text));
+        String last = words[words.length - 1];
+        return STOP_WORDS.contains(last) ? last : null;
+    }
+}
@@ -0,0 +1,208 @@
+package com.cafeteria.cafedealtura.domain.coffee.catalog;
+
+import com.cafeteria.cafedealtura.domain.coffee.dto.response.CoffeeSuggestionDTO;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Trie inmutable de prefijos para el autocompletado.
+ *
+ * Cada sugerencia se inserta normalizada con {@link SearchText#fold} desde el
+ * inicio de cada una de sus palabras, de modo que "sup" encuentra "Colombia
+ * Supremo". Los nodos se aplanan en arrays en orden de anchura (los hijos de
+ * un nodo quedan contiguos y ordenados por carácter) y cada nodo guarda ya
+ * calculadas sus mejores sugerencias, así que una consulta solo recorre el
+ * prefijo. Las claves se truncan a {@link #MAX_KEY_LENGTH} caracteres y cada
+ * nodo guarda como mucho {@code maxResults} sugerencias, lo que acota la
+ * memoria en función del catálogo.
+ */
+public final class SuggestionTrie {
+    static final int MAX_KEY_LENGTH = 32;
+
+    private static final SuggestionTrie EMPTY = new SuggestionTrie(
+            new CoffeeSuggestionDTO[0], new char[1], new int[] { 1, 1 }, new int[][] { new int[0] }, 0);
+
+    private final CoffeeSuggestionDTO[] suggestions;
+    private final char[] labels;
+    private final int[] childStart;
+    private final int[][] top;
+    private final int maxResults;
+
+    private SuggestionTrie(CoffeeSuggestionDTO[] suggestions, char[] labels, int[] childStart, int[][] top,
+            int maxResults) {
+        this.suggestions = suggestions;
+        this.labels = labels;
+        this.childStart = childStart;
+        this.top = top;
+        this.maxResults = maxResults;
+    }
+
+    public static SuggestionTrie empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Construye el trie.
+     *
+     * @param entries    Sugerencias en cualquier orden
+     * @param maxResults Sugerencias que se guardan por nodo
+     * @return Nuevo trie
+     */
+    public static SuggestionTrie of(List<CoffeeSuggestionDTO> entries, int maxResults) {
+        // Con las sugerencias ordenadas por relevancia, las mejores de cada
+        // nodo son simplemente los índices más bajos
+        CoffeeSuggestionDTO[] ranked = entries.toArray(new CoffeeSuggestionDTO[0]);
+        Arrays.sort(ranked, Comparator.comparingLong(CoffeeSuggestionDTO::getPopularity).reversed()
+                .thenComparing(CoffeeSuggestionDTO::getText));
+
+        Node root = new Node();
+        for (int i = 0; i < ranked.length; i++) {
+            String folded = SearchText.fold(ranked[i].getText());
+            for (int start = 0; start < folded.length(); start++) {
+                if (isWordStart(folded, start)) {
+                    root.insert(folded, start, Math.min(folded.length(), start + MAX_KEY_LENGTH), i);
+                }
+            }
+        }
+        root.computeTop(maxResults);
+        return flatten(root, ranked, maxResults);
+    }
+
+    /**
+     * Mejores sugerencias para un prefijo.
+     *
+     * Un prefijo más largo que {@link #MAX_KEY_LENGTH} no cabe en el trie:
+     * sus primeros caracteres solo sirven para descartar pronto, y después se
+     * recorren todas las sugerencias buscando el prefijo entero al inicio de
+     * alguna palabra (las mejores del nodo podrían no incluir la buscada).
+     *
+     * @param prefix Texto escrito hasta ahora
+     * @return Sugerencias de más a menos popular (vacío si no hay ninguna)
+     */
+    public List<CoffeeSuggestionDTO> complete(String prefix) {
+        String folded = SearchText.fold(prefix).stripLeading();
+        if (folded.isEmpty()) {
+            return List.of();
+        }
+        boolean truncated = folded.length() > MAX_KEY_LENGTH;
+        int node = 0;
+        for (int i = 0; i < Math.min(folded.length(), MAX_KEY_LENGTH); i++) {
+            node = child(node, folded.charAt(i));
+            if (node < 0) {
+                return List.of();
+            }
+        }
+        if (truncated) {
+            return completeLong(folded);
+        }
+        int[] best = top[node];
+        List<CoffeeSuggestionDTO> result = new ArrayList<>(best.length);
+        for (int index : best) {
+            result.add(suggestions[index]);
+        }
+        return result;
+    }
+
+    private List<CoffeeSuggestionDTO> completeLong(String folded) {
+        List<CoffeeSuggestionDTO> result = new ArrayList<>();
+        for (int i = 0; i < suggestions.length && result.size() < maxResults; i++) {
+            String text = SearchText.fold(suggestions[i].getText());
+            for (int start = 0; start + folded.length() <= text.length(); start++) {
+                if (isWordStart(text, start) && text.startsWith(folded, start)) {
+                    result.add(suggestions[i]);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean isWordStart(String text, int index) {
+        return Character.isLetterOrDigit(text.charAt(index))
+                && (index == 0 || !Character.isLetterOrDigit(text.charAt(index - 1)));
+    }
+
+    public int size() {
+        return suggestions.length;
+    }
+
+    private int child(int node, char label) {
+        int low = childStart[node];
+        int high = childStart[node + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (labels[mid] < label) {
+                low = mid + 1;
+            } else if (labels[mid] > label) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static SuggestionTrie flatten(Node root, CoffeeSuggestionDTO[] ranked, int maxResults) {
+        List<Node> order = new ArrayList<>();
+        Deque<Node> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            order.add(node);
+            queue.addAll(node.children.values());
+        }
+
+        int size = order.size();
+        char[] labels = new char[size];
+        int[] childStart = new int[size + 1];
+        int[][] top = new int[size][];
+        int next = 1;
+        for (int i = 0; i < size; i++) {
+            Node node = order.get(i);
+            labels[i] = node.label;
+            top[i] = node.top;
+            childStart[i] = next;
+            next += node.children.size();
+        }
+        childStart[size] = next;
+        return new SuggestionTrie(ranked, labels, childStart, top, maxResults);
+    }
+
+    /**
+     * Nodo mutable usado solo durante la construcción.
+     */
+    private static final class Node {
+        private final TreeMap<Character, Node> children = new TreeMap<>();
+        private final TreeSet<Integer> terminal = new TreeSet<>();
+        private char label;
+        private int[] top;
+
+        void insert(String key, int from, int to, int suggestion) {
+            Node node = this;
+            for (int i = from; i < to; i++) {
+                char c = key.charAt(i);
+                node = node.children.computeIfAbsent(c, k -> new Node());
+                node.label = c;
+            }
+            node.terminal.add(suggestion);
+        }
+
+        void computeTop(int maxResults) {
+            TreeSet<Integer> best = new TreeSet<>(terminal);
+            for (Node child : children.values()) {
+                child.computeTop(maxResults);
+                for (int index : child.top) {
+                    best.add(index);
+                }
+            }
+            top = best.stream().limit(maxResults).mapToInt(Integer::intValue).toArray();
+        }
+    }
+}
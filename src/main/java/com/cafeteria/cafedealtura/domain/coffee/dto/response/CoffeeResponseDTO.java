@@ -12,8 +12,14 @@ public class CoffeeResponseDTO {
     private final String description;
     private final Double price;
     private final String origin;
+    private final Long version;
 
     public CoffeeResponseDTO(Long id, String name, String description, Double price, String origin) {
+        this(id, name, description, price, origin, null);
+    }
+
+    public CoffeeResponseDTO(Long id, String name, String description, Double price, String origin,
+            Long version) {
         ValidationUtils.validatePositive(id, "id");
         ValidationUtils.validateNotEmpty(name, "nombre");
         ValidationUtils.validateNotEmpty(description, "descripción");
@@ -25,6 +31,7 @@ public class CoffeeResponseDTO {
         this.description = description;
         this.price = price;
         this.origin = origin;
+        this.version = version;
     }
 
     public CoffeeResponseDTO(com.cafeteria.cafedealtura.domain.coffee.model.Coffee coffee) {
@@ -33,7 +40,8 @@ public class CoffeeResponseDTO {
                 coffee.getName(),
                 coffee.getDescription(),
                 coffee.getPrice(),
-                coffee.getOrigin());
+                coffee.getOrigin(),
+                coffee.getVersion());
     }
 
     // Getters
@@ -56,4 +64,8 @@ public class CoffeeResponseDTO {
     public String getOrigin() {
         return origin;
     }
+
+    public Long getVersion() {
+        return version;
+    }
 }
\ No newline at end of file
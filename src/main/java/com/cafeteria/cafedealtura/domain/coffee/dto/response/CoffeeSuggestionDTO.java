@@ -0,0 +1,45 @@
+package com.cafeteria.cafedealtura.domain.coffee.dto.response;
+
+/**
+ * DTO para una sugerencia de autocompletado del buscador de cafés.
+ * Puede ser el nombre de un café o un origen.
+ */
+public class CoffeeSuggestionDTO {
+    public static final String TYPE_COFFEE = "coffee";
+    public static final String TYPE_ORIGIN = "origin";
+
+    private final String text;
+    private final String type;
+    private final Long coffeeId;
+    private final long popularity;
+
+    public CoffeeSuggestionDTO(String text, String type, Long coffeeId, long popularity) {
+        this.text = text;
+        this.type = type;
+        this.coffeeId = coffeeId;
+        this.popularity = popularity;
+    }
+
+    // Getters
+    public String getText() {
+        return text;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * @return ID del café, o null si la sugerencia es un origen
+     */
+    public Long getCoffeeId() {
+        return coffeeId;
+    }
+
+    /**
+     * @return Unidades vendidas del café (o de todos los cafés del origen)
+     */
+    public long getPopularity() {
+        return popularity;
+    }
+}
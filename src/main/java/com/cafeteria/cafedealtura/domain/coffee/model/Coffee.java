@@ -5,6 +5,8 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.cafeteria.cafedealtura.common.utils.ValidationUtils;
 
 /**
@@ -12,19 +14,23 @@ import com.cafeteria.cafedealtura.common.utils.ValidationUtils;
  * Esta clase mapea la tabla 'coffees' en la base de datos.
  * 
  * Características principales:
- * - ID autoincremental
+ * - ID generado por secuencia con asignación por bloques (pooled)
  * - Validaciones de campos obligatorios
  * - Precio debe ser positivo
  * - Nombre y origen con longitud mínima y máxima
  * - Descripción con longitud mínima
+ * - Cacheable en la caché de segundo nivel (perfil l2-cache)
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "coffees", uniqueConstraints = {
         @UniqueConstraint(columnNames = "name")
 })
 public class Coffee {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "coffee_seq")
+    @SequenceGenerator(name = "coffee_seq", sequenceName = "coffees_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "El nombre es obligatorio")
@@ -47,6 +53,9 @@ public class Coffee {
     @Column(nullable = false)
     private String origin;
 
+    @Version
+    private Long version;
+
     public Coffee() {
     }
 
@@ -62,6 +71,14 @@ public class Coffee {
         return id;
     }
 
+    /**
+     * Versión para el control optimista de concurrencia; Hibernate la
+     * incrementa en cada actualización.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
     public void setId(Long id) {
         ValidationUtils.validatePositive(id, "id");
         this.id = id;
@@ -1,34 +1,52 @@
 package com.cafeteria.cafedealtura.domain.coffee.service;
 
 import com.cafeteria.cafedealtura.common.exceptions.BadRequestException;
+import com.cafeteria.cafedealtura.common.exceptions.PreconditionFailedException;
 import com.cafeteria.cafedealtura.common.exceptions.ResourceNotFoundException;
+import com.cafeteria.cafedealtura.common.pagination.CursorCodec;
+import com.cafeteria.cafedealtura.common.pagination.CursorPage;
+import com.cafeteria.cafedealtura.domain.coffee.catalog.CatalogPayload;
+import com.cafeteria.cafedealtura.domain.coffee.catalog.CoffeeCatalog;
+import com.cafeteria.cafedealtura.domain.coffee.catalog.CoffeeCatalogSnapshot;
 import com.cafeteria.cafedealtura.domain.coffee.dto.request.CreateCoffeeRequestDTO;
 import com.cafeteria.cafedealtura.domain.coffee.dto.request.UpdateCoffeeRequestDTO;
 import com.cafeteria.cafedealtura.domain.coffee.dto.response.CoffeeResponseDTO;
 import com.cafeteria.cafedealtura.domain.coffee.model.Coffee;
 import com.cafeteria.cafedealtura.domain.coffee.repository.CoffeeRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Servicio para la gestión de cafés.
  * Implementa la lógica de negocio relacionada con los cafés.
+ * Las lecturas se sirven desde el {@link CoffeeCatalog} en memoria y las
+ * escrituras lo actualizan al confirmar la transacción.
  */
 @Service
+@Timed(value = "cafedealtura.service", histogram = true)
 public class CoffeeService {
+    private static final Map<String, Comparator<CoffeeResponseDTO>> SORTABLE_PROPERTIES = Map.of(
+            "id", Comparator.comparing(CoffeeResponseDTO::getId),
+            "name", Comparator.comparing(CoffeeResponseDTO::getName),
+            "description", Comparator.comparing(CoffeeResponseDTO::getDescription),
+            "price", Comparator.comparing(CoffeeResponseDTO::getPrice),
+            "origin", Comparator.comparing(CoffeeResponseDTO::getOrigin));
+
     private final CoffeeRepository coffeeRepository;
+    private final CoffeeCatalog coffeeCatalog;
 
     @Autowired
-    public CoffeeService(CoffeeRepository coffeeRepository) {
+    public CoffeeService(CoffeeRepository coffeeRepository, CoffeeCatalog coffeeCatalog) {
         this.coffeeRepository = coffeeRepository;
+        this.coffeeCatalog = coffeeCatalog;
     }
 
     /**
@@ -36,12 +54,91 @@ public class CoffeeService {
      * 
      * @param pageable Configuración de paginación y ordenamiento
      * @return Lista de cafés
+     * @throws BadRequestException si se ordena por una propiedad desconocida
      */
     public List<CoffeeResponseDTO> findAll(Pageable pageable) {
-        Page<Coffee> page = coffeeRepository.findAll(pageable);
-        return page.getContent().stream()
-                .map(CoffeeResponseDTO::new)
-                .collect(Collectors.toList());
+        return findAll(coffeeCatalog.snapshot(), pageable);
+    }
+
+    /**
+     * Obtiene el JSON de una página de cafés sin pasar por Jackson.
+     * El catálogo completo en su orden natural se devuelve ya montado (con
+     * versión gzip); cualquier otra página se arma con los fragmentos JSON
+     * precalculados de cada café.
+     * 
+     * @param pageable Configuración de paginación y ordenamiento
+     * @return JSON de la lista de cafés
+     * @throws BadRequestException si se ordena por una propiedad desconocida
+     */
+    public CatalogPayload renderAll(Pageable pageable) {
+        CoffeeCatalogSnapshot snapshot = coffeeCatalog.snapshot();
+        if (isWholeCatalog(snapshot, pageable)) {
+            return snapshot.getRendered().getAll();
+        }
+        return snapshot.getRendered().array(findAll(snapshot, pageable));
+    }
+
+    /**
+     * Indica si {@link #renderAll} servirá el catálogo completo ya montado
+     * (con versión gzip), sin montar la respuesta.
+     * 
+     * @param pageable Configuración de paginación y ordenamiento
+     * @return true si la página es el catálogo completo en su orden natural
+     */
+    public boolean isWholeCatalog(Pageable pageable) {
+        return isWholeCatalog(coffeeCatalog.snapshot(), pageable);
+    }
+
+    private static boolean isWholeCatalog(CoffeeCatalogSnapshot snapshot, Pageable pageable) {
+        boolean allRows = pageable.isUnpaged()
+                || (pageable.getOffset() == 0 && pageable.getPageSize() >= snapshot.getCoffees().size());
+        return allRows && pageable.getSort().isUnsorted();
+    }
+
+    private List<CoffeeResponseDTO> findAll(CoffeeCatalogSnapshot snapshot, Pageable pageable) {
+        List<CoffeeResponseDTO> coffees = snapshot.getCoffees();
+        if (pageable.getSort().isSorted()) {
+            coffees = coffees.stream()
+                    .sorted(toComparator(pageable.getSort()))
+                    .toList();
+        }
+        if (pageable.isUnpaged()) {
+            return coffees;
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), coffees.size());
+        int to = Math.min(from + pageable.getPageSize(), coffees.size());
+        return coffees.subList(from, to);
+    }
+
+    /**
+     * Lista los cafés con paginación por cursor, ordenados por ID.
+     * La posición se localiza por búsqueda binaria en el catálogo en memoria.
+     * 
+     * @param cursor Cursor devuelto por la página anterior, o null para la
+     *               primera
+     * @param size   Tamaño de página
+     * @return Página de cafés con el cursor de la siguiente
+     * @throws BadRequestException si el cursor no es válido
+     */
+    public CursorPage<CoffeeResponseDTO> scroll(String cursor, int size) {
+        int limit = CursorCodec.clampSize(size);
+        CoffeeCatalogSnapshot snapshot = coffeeCatalog.snapshot();
+        List<CoffeeResponseDTO> coffees = snapshot.getCoffees();
+
+        int from = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                from = snapshot.indexAfter(Long.parseLong(CursorCodec.decode(cursor, 1)[0]));
+            } catch (NumberFormatException ex) {
+                throw new BadRequestException("Cursor de paginación inválido", ex);
+            }
+        }
+
+        int to = Math.min(from + limit, coffees.size());
+        List<CoffeeResponseDTO> content = coffees.subList(from, to);
+        String nextCursor = to < coffees.size() ? CursorCodec.encode(content.get(content.size() - 1).getId()) : null;
+        return new CursorPage<>(content, nextCursor);
     }
 
     /**
@@ -52,9 +149,11 @@ public class CoffeeService {
      * @throws ResourceNotFoundException si el café no existe
      */
     public CoffeeResponseDTO findById(Long id) {
-        Coffee coffee = coffeeRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Café", "id", id));
-        return new CoffeeResponseDTO(coffee);
+        CoffeeResponseDTO coffee = coffeeCatalog.snapshot().findById(id);
+        if (coffee == null) {
+            throw new ResourceNotFoundException("Café", "id", id);
+        }
+        return coffee;
     }
 
     /**
@@ -76,7 +175,9 @@ public class CoffeeService {
                 createDTO.getPrice(),
                 createDTO.getOrigin());
 
-        return new CoffeeResponseDTO(coffeeRepository.save(coffee));
+        CoffeeResponseDTO saved = new CoffeeResponseDTO(coffeeRepository.save(coffee));
+        coffeeCatalog.upsertAfterCommit(saved);
+        return saved;
     }
 
     /**
@@ -90,8 +191,28 @@ public class CoffeeService {
      */
     @Transactional
     public CoffeeResponseDTO update(Long id, UpdateCoffeeRequestDTO updateDTO) {
+        return update(id, updateDTO, null);
+    }
+
+    /**
+     * Actualiza un café existente si sigue en la versión esperada.
+     * 
+     * @param id              ID del café a actualizar
+     * @param updateDTO       Nuevos datos del café
+     * @param expectedVersion Versión esperada (If-Match), o null para no
+     *                        comprobarla
+     * @return Café actualizado con su nueva versión
+     * @throws ResourceNotFoundException   si el café no existe
+     * @throws BadRequestException         si el nuevo nombre ya está en uso
+     * @throws PreconditionFailedException si la versión no coincide
+     */
+    @Transactional
+    public CoffeeResponseDTO update(Long id, UpdateCoffeeRequestDTO updateDTO, Long expectedVersion) {
         Coffee coffee = coffeeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Café", "id", id));
+        if (expectedVersion != null && !expectedVersion.equals(coffee.getVersion())) {
+            throw new PreconditionFailedException("El café ha sido modificado; versión actual " + coffee.getVersion());
+        }
 
         // Verificar si el nuevo nombre ya está en uso por otro café
         if (!coffee.getName().equals(updateDTO.getName()) &&
@@ -104,7 +225,10 @@ public class CoffeeService {
         coffee.setPrice(updateDTO.getPrice());
         coffee.setOrigin(updateDTO.getOrigin());
 
-        return new CoffeeResponseDTO(coffeeRepository.save(coffee));
+        // Se fuerza el flush para que la respuesta lleve la versión incrementada
+        CoffeeResponseDTO saved = new CoffeeResponseDTO(coffeeRepository.saveAndFlush(coffee));
+        coffeeCatalog.upsertAfterCommit(saved);
+        return saved;
     }
 
     /**
@@ -119,6 +243,7 @@ public class CoffeeService {
             throw new ResourceNotFoundException("Café", "id", id);
         }
         coffeeRepository.deleteById(id);
+        coffeeCatalog.removeAfterCommit(id);
     }
 
     /**
@@ -128,9 +253,17 @@ public class CoffeeService {
      * @return Lista de cafés con ese origen
      */
     public List<CoffeeResponseDTO> findByOrigin(String origin) {
-        return coffeeRepository.findByOrigin(origin).stream()
-                .map(CoffeeResponseDTO::new)
-                .collect(Collectors.toList());
+        return coffeeCatalog.snapshot().findByOrigin(origin);
+    }
+
+    /**
+     * Obtiene el JSON precalculado de los cafés de un origen.
+     * 
+     * @param origin Origen del café
+     * @return JSON de la lista de cafés con ese origen
+     */
+    public CatalogPayload renderByOrigin(String origin) {
+        return coffeeCatalog.snapshot().getRendered().getByOrigin(origin);
     }
 
     /**
@@ -138,12 +271,84 @@ public class CoffeeService {
      * 
      * @param minPrice Precio mínimo (inclusive)
      * @param maxPrice Precio máximo (inclusive)
-     * @return Lista de cafés dentro del rango de precio
+     * @return Lista de cafés dentro del rango de precio, de menor a mayor
+     *         precio
+     * @throws BadRequestException si el rango no es válido
      */
     public List<CoffeeResponseDTO> findByPriceRange(Double minPrice, Double maxPrice) {
-        return coffeeRepository.findByPriceBetween(minPrice, maxPrice).stream()
-                .map(CoffeeResponseDTO::new)
-                .collect(Collectors.toList());
+        return findByPriceRange(coffeeCatalog.snapshot(), minPrice, maxPrice, null, "asc", Integer.MAX_VALUE);
+    }
+
+    /**
+     * Obtiene el JSON de los cafés dentro de un rango de precio, resuelto con
+     * el índice de precios del catálogo (búsqueda binaria más filtro de
+     * origen por bitset).
+     * 
+     * @param minPrice  Precio mínimo (inclusive), o null sin límite
+     * @param maxPrice  Precio máximo (inclusive), o null sin límite
+     * @param origin    Origen exigido, o null para cualquiera
+     * @param direction "asc" o "desc" según el orden de precio
+     * @param limit     Número máximo de resultados
+     * @return JSON de la lista de cafés ordenada por precio
+     * @throws BadRequestException si el rango o el orden no son válidos
+     */
+    public CatalogPayload renderByPriceRange(Double minPrice, Double maxPrice, String origin, String direction,
+            int limit) {
+        CoffeeCatalogSnapshot snapshot = coffeeCatalog.snapshot();
+        return snapshot.getRendered().array(findByPriceRange(snapshot, minPrice, maxPrice, origin, direction,
+                CursorCodec.clampSize(limit)));
+    }
+
+    private List<CoffeeResponseDTO> findByPriceRange(CoffeeCatalogSnapshot snapshot, Double minPrice,
+            Double maxPrice, String origin, String direction, int limit) {
+        double min = minPrice != null ? minPrice : Double.NEGATIVE_INFINITY;
+        double max = maxPrice != null ? maxPrice : Double.POSITIVE_INFINITY;
+        if (Double.isNaN(min) || Double.isNaN(max) || min > max) {
+            throw new BadRequestException("Rango de precio inválido");
+        }
+        boolean descending;
+        if ("asc".equalsIgnoreCase(direction)) {
+            descending = false;
+        } else if ("desc".equalsIgnoreCase(direction)) {
+            descending = true;
+        } else {
+            throw new BadRequestException("Orden de precio inválido: " + direction);
+        }
+        return snapshot.getPriceIndex().range(min, max, origin, descending, limit);
+    }
+
+    /**
+     * Busca cafés por texto en nombre, descripción y origen, sin distinguir
+     * mayúsculas ni acentos. La última palabra se trata también como prefijo.
+     * 
+     * @param query Texto de búsqueda
+     * @param limit Número máximo de resultados
+     * @return Cafés de mayor a menor relevancia
+     */
+    public List<CoffeeResponseDTO> search(String query, int limit) {
+        return coffeeCatalog.snapshot().search(query, CursorCodec.clampSize(limit));
+    }
+
+    /**
+     * Obtiene el JSON de una búsqueda de texto (ver {@link #search}).
+     * 
+     * @param query Texto de búsqueda
+     * @param limit Número máximo de resultados
+     * @return JSON de los cafés de mayor a menor relevancia
+     */
+    public CatalogPayload renderSearch(String query, int limit) {
+        CoffeeCatalogSnapshot snapshot = coffeeCatalog.snapshot();
+        return snapshot.getRendered().array(snapshot.search(query, CursorCodec.clampSize(limit)));
+    }
+
+    /**
+     * ETag del catálogo completo. Avanza con cada alta, modificación o baja
+     * de un café, por lo que sirve para los listados y las estadísticas.
+     *
+     * @return ETag fuerte del catálogo
+     */
+    public String catalogETag() {
+        return coffeeCatalog.eTag();
     }
 
     /**
@@ -152,19 +357,30 @@ public class CoffeeService {
      * @return Mapa con estadísticas (total, precio promedio, orígenes)
      */
     public Map<String, Object> getStats() {
-        Map<String, Object> stats = new HashMap<>();
-        List<Coffee> coffees = coffeeRepository.findAll();
-
-        stats.put("totalCafes", coffees.size());
-        stats.put("precioPromedio", coffees.stream()
-                .mapToDouble(Coffee::getPrice)
-                .average()
-                .orElse(0.0));
-        stats.put("origenes", coffees.stream()
-                .collect(Collectors.groupingBy(
-                        Coffee::getOrigin,
-                        Collectors.counting())));
-
-        return stats;
-    }
-}
\ No newline at end of file
+        return coffeeCatalog.snapshot().getStats();
+    }
+
+    /**
+     * Obtiene el JSON precalculado de las estadísticas de los cafés.
+     * 
+     * @return JSON de las estadísticas
+     */
+    public CatalogPayload renderStats() {
+        return coffeeCatalog.snapshot().getRendered().getStats();
+    }
+
+    private static Comparator<CoffeeResponseDTO> toComparator(Sort sort) {
+        Comparator<CoffeeResponseDTO> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<CoffeeResponseDTO> byProperty = SORTABLE_PROPERTIES.get(order.getProperty());
+            if (byProperty == null) {
+                throw new BadRequestException("No se puede ordenar por: " + order.getProperty());
+            }
+            if (order.isDescending()) {
+                byProperty = byProperty.reversed();
+            }
+            comparator = comparator == null ? byProperty : comparator.thenComparing(byProperty);
+        }
+        return comparator;
+    }
+}
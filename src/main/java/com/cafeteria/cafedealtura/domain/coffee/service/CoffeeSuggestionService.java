@@ -0,0 +1,107 @@
+package com.cafeteria.cafedealtura.domain.coffee.service;
+
+import com.cafeteria.cafedealtura.domain.coffee.catalog.CoffeeCatalog;
+import com.cafeteria.cafedealtura.domain.coffee.catalog.CoffeeCatalogSnapshot;
+import com.cafeteria.cafedealtura.domain.coffee.catalog.SuggestionTrie;
+import com.cafeteria.cafedealtura.domain.coffee.dto.response.CoffeeResponseDTO;
+import com.cafeteria.cafedealtura.domain.coffee.dto.response.CoffeeSuggestionDTO;
+import com.cafeteria.cafedealtura.domain.order.model.OrderStatus;
+import com.cafeteria.cafedealtura.domain.order.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Servicio de autocompletado del buscador de cafés.
+ *
+ * Mantiene un {@link SuggestionTrie} con los nombres de los cafés y sus
+ * orígenes, ordenados por unidades vendidas. El trie se reconstruye en
+ * segundo plano cada {@code app.coffees.suggestions.refresh-ms}; las
+ * consultas solo leen la referencia vigente y nunca tocan la base de datos.
+ */
+@Service
+public class CoffeeSuggestionService {
+    private static final Logger logger = LoggerFactory.getLogger(CoffeeSuggestionService.class);
+
+    private final CoffeeCatalog coffeeCatalog;
+    private final OrderRepository orderRepository;
+    private final int maxResults;
+    private volatile SuggestionTrie trie = SuggestionTrie.empty();
+
+    @Autowired
+    public CoffeeSuggestionService(CoffeeCatalog coffeeCatalog, OrderRepository orderRepository,
+            @Value("${app.coffees.suggestions.max-results:10}") int maxResults) {
+        this.coffeeCatalog = coffeeCatalog;
+        this.orderRepository = orderRepository;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Construye el trie al arrancar la aplicación, con los datos iniciales ya
+     * cargados.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        refresh();
+    }
+
+    /**
+     * Reconstruye el trie con el catálogo actual y las ventas acumuladas.
+     */
+    @Scheduled(initialDelayString = "${app.coffees.suggestions.refresh-ms:60000}",
+            fixedDelayString = "${app.coffees.suggestions.refresh-ms:60000}")
+    public void refresh() {
+        Map<Long, Long> unitsSold = new HashMap<>();
+        for (Object[] row : orderRepository.getUnitsSoldByCoffee(OrderStatus.CANCELLED)) {
+            unitsSold.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+
+        List<CoffeeSuggestionDTO> entries = new ArrayList<>();
+        Map<String, Long> originUnits = new LinkedHashMap<>();
+        for (CoffeeResponseDTO coffee : coffeeCatalog.snapshot().getCoffees()) {
+            long units = unitsSold.getOrDefault(coffee.getId(), 0L);
+            entries.add(new CoffeeSuggestionDTO(coffee.getName(), CoffeeSuggestionDTO.TYPE_COFFEE, coffee.getId(),
+                    units));
+            originUnits.merge(coffee.getOrigin(), units, Long::sum);
+        }
+        originUnits.forEach((origin, units) -> entries.add(
+                new CoffeeSuggestionDTO(origin, CoffeeSuggestionDTO.TYPE_ORIGIN, null, units)));
+
+        trie = SuggestionTrie.of(entries, maxResults);
+        logger.debug("Autocompletado reconstruido: {} sugerencias", entries.size());
+    }
+
+    /**
+     * Sugerencias para lo escrito hasta ahora en el buscador.
+     * Los cafés eliminados desde la última reconstrucción se descartan.
+     *
+     * @param prefix Texto escrito (sin distinguir mayúsculas ni acentos)
+     * @param limit  Número máximo de sugerencias
+     * @return Sugerencias de más a menos vendida
+     */
+    public List<CoffeeSuggestionDTO> suggest(String prefix, int limit) {
+        int max = Math.max(1, Math.min(limit, maxResults));
+        CoffeeCatalogSnapshot snapshot = coffeeCatalog.snapshot();
+        List<CoffeeSuggestionDTO> result = new ArrayList<>(max);
+        for (CoffeeSuggestionDTO suggestion : trie.complete(prefix)) {
+            if (result.size() == max) {
+                break;
+            }
+            if (suggestion.getCoffeeId() == null || snapshot.findById(suggestion.getCoffeeId()) != null) {
+                result.add(suggestion);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,97 @@
+package com.cafeteria.cafedealtura.domain.order.dto.projection;
+
+import com.cafeteria.cafedealtura.domain.order.model.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila plana de la consulta de pedidos proyectada a DTO.
+ * Cada fila combina los datos de un pedido, su usuario y uno de sus items
+ * (los campos del item son null si el pedido no tiene items). Se construye
+ * directamente desde JPQL, sin entidades gestionadas ni cargas perezosas.
+ */
+public class OrderLineView {
+    private final Long orderId;
+    private final LocalDateTime date;
+    private final OrderStatus status;
+    private final Double total;
+    private final Long version;
+    private final Long userId;
+    private final String userName;
+    private final String userEmail;
+    private final Long itemId;
+    private final String itemName;
+    private final Double itemPrice;
+    private final Integer itemQuantity;
+    private final Double itemSubtotal;
+
+    public OrderLineView(Long orderId, LocalDateTime date, OrderStatus status, Double total, Long version,
+            Long userId, String userName, String userEmail,
+            Long itemId, String itemName, Double itemPrice, Integer itemQuantity, Double itemSubtotal) {
+        this.orderId = orderId;
+        this.date = date;
+        this.status = status;
+        this.total = total;
+        this.version = version;
+        this.userId = userId;
+        this.userName = userName;
+        this.userEmail = userEmail;
+        this.itemId = itemId;
+        this.itemName = itemName;
+        this.itemPrice = itemPrice;
+        this.itemQuantity = itemQuantity;
+        this.itemSubtotal = itemSubtotal;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public Double getTotal() {
+        return total;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public String getUserEmail() {
+        return userEmail;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public Double getItemPrice() {
+        return itemPrice;
+    }
+
+    public Integer getItemQuantity() {
+        return itemQuantity;
+    }
+
+    public Double getItemSubtotal() {
+        return itemSubtotal;
+    }
+}
@@ -0,0 +1,13 @@
+package com.cafeteria.cafedealtura.domain.order.dto.projection;
+
+import com.cafeteria.cafedealtura.domain.order.model.OrderStatus;
+
+/**
+ * Proyección mínima de un pedido para cambiar su estado sin cargar la
+ * entidad.
+ */
+public interface OrderStatusView {
+    OrderStatus getStatus();
+
+    Double getTotal();
+}
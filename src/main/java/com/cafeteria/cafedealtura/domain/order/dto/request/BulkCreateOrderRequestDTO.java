@@ -0,0 +1,33 @@
+package com.cafeteria.cafedealtura.domain.order.dto.request;
+
+import com.cafeteria.cafedealtura.common.constants.ApiConstants;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * DTO para la creación de varios pedidos en una sola petición.
+ * Cada pedido se valida por separado en el servicio, de modo que un pedido
+ * inválido se informa en su resultado sin rechazar el lote completo.
+ */
+public class BulkCreateOrderRequestDTO {
+    @NotEmpty(message = "Debe incluir al menos un pedido")
+    @Size(max = ApiConstants.MAX_BULK_ORDERS, message = "No se pueden crear más de "
+            + ApiConstants.MAX_BULK_ORDERS + " pedidos por petición")
+    private List<CreateOrderRequestDTO> orders;
+
+    public BulkCreateOrderRequestDTO() {
+    }
+
+    public BulkCreateOrderRequestDTO(List<CreateOrderRequestDTO> orders) {
+        this.orders = orders;
+    }
+
+    public List<CreateOrderRequestDTO> getOrders() {
+        return orders;
+    }
+
+    public void setOrders(List<CreateOrderRequestDTO> orders) {
+        this.orders = orders;
+    }
+}
@@ -0,0 +1,26 @@
+package com.cafeteria.cafedealtura.domain.order.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * DTO para cambiar el estado de un pedido.
+ */
+public class OrderStatusTransitionRequestDTO {
+    @NotBlank(message = "El estado destino es obligatorio")
+    private String status;
+
+    public OrderStatusTransitionRequestDTO() {
+    }
+
+    public OrderStatusTransitionRequestDTO(String status) {
+        this.status = status;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
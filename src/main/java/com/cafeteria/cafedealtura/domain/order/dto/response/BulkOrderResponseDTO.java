@@ -0,0 +1,81 @@
+package com.cafeteria.cafedealtura.domain.order.dto.response;
+
+import java.util.List;
+
+/**
+ * DTO con el resultado de una creación masiva de pedidos.
+ * Incluye un resultado por pedido, en el mismo orden que la petición.
+ */
+public class BulkOrderResponseDTO {
+    private final int total;
+    private final int created;
+    private final int failed;
+    private final List<OrderResult> results;
+
+    public BulkOrderResponseDTO(List<OrderResult> results) {
+        this.results = results;
+        this.total = results.size();
+        this.created = (int) results.stream().filter(OrderResult::isSuccess).count();
+        this.failed = total - created;
+    }
+
+    // Getters
+    public int getTotal() {
+        return total;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public List<OrderResult> getResults() {
+        return results;
+    }
+
+    /**
+     * Resultado de un pedido del lote: el pedido creado o el motivo del
+     * rechazo.
+     */
+    public static class OrderResult {
+        private final int index;
+        private final boolean success;
+        private final OrderResponseDTO order;
+        private final String error;
+
+        private OrderResult(int index, boolean success, OrderResponseDTO order, String error) {
+            this.index = index;
+            this.success = success;
+            this.order = order;
+            this.error = error;
+        }
+
+        public static OrderResult created(int index, OrderResponseDTO order) {
+            return new OrderResult(index, true, order, null);
+        }
+
+        public static OrderResult failed(int index, String error) {
+            return new OrderResult(index, false, null, error);
+        }
+
+        // Getters
+        public int getIndex() {
+            return index;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public OrderResponseDTO getOrder() {
+            return order;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package com.cafeteria.cafedealtura.domain.order.dto.response;
 
+import com.cafeteria.cafedealtura.domain.order.dto.projection.OrderLineView;
 import com.cafeteria.cafedealtura.domain.order.model.Order;
 import com.cafeteria.cafedealtura.domain.order.model.OrderItem;
 import com.cafeteria.cafedealtura.domain.user.dto.response.UserSummaryDTO;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * DTO para representar un pedido en las respuestas de la API.
@@ -18,6 +25,7 @@ public class OrderResponseDTO {
     private final Double total;
     private final LocalDateTime date;
     private final String status;
+    private final Long version;
 
     public OrderResponseDTO(Order order) {
         this.id = order.getId();
@@ -28,6 +36,72 @@ public class OrderResponseDTO {
         this.total = order.getTotal();
         this.date = order.getDate();
         this.status = order.getStatus().getDescription();
+        this.version = order.getVersion();
+    }
+
+    private OrderResponseDTO(OrderLineView head, List<OrderItemResponseDTO> items) {
+        this.id = head.getOrderId();
+        this.user = new UserSummaryDTO(head.getUserId(), head.getUserName(), head.getUserEmail());
+        this.items = items;
+        this.total = head.getTotal();
+        this.date = head.getDate();
+        this.status = head.getStatus().getDescription();
+        this.version = head.getVersion();
+    }
+
+    /**
+     * Agrupa las filas de la proyección plana en un DTO por pedido,
+     * conservando el orden de llegada.
+     * 
+     * @param lines Filas pedido-item ordenadas por pedido
+     * @return Lista de pedidos
+     */
+    public static List<OrderResponseDTO> fromLines(List<OrderLineView> lines) {
+        Map<Long, List<OrderLineView>> byOrder = new LinkedHashMap<>();
+        for (OrderLineView line : lines) {
+            byOrder.computeIfAbsent(line.getOrderId(), id -> new ArrayList<>()).add(line);
+        }
+
+        List<OrderResponseDTO> orders = new ArrayList<>(byOrder.size());
+        for (List<OrderLineView> orderLines : byOrder.values()) {
+            orders.add(of(orderLines));
+        }
+        return orders;
+    }
+
+    /**
+     * Agrupa un flujo de filas de la proyección plana y entrega cada pedido en
+     * cuanto llega su última fila. Solo se retienen en memoria las filas del
+     * pedido en curso, así que las filas de un mismo pedido deben llegar
+     * seguidas.
+     * 
+     * @param lines Filas pedido-item ordenadas por pedido
+     * @param sink  Consumidor que recibe cada pedido
+     */
+    public static void forEachGrouped(Stream<OrderLineView> lines, Consumer<OrderResponseDTO> sink) {
+        Iterator<OrderLineView> iterator = lines.iterator();
+        List<OrderLineView> orderLines = new ArrayList<>();
+        while (iterator.hasNext()) {
+            OrderLineView line = iterator.next();
+            if (!orderLines.isEmpty() && !orderLines.get(0).getOrderId().equals(line.getOrderId())) {
+                sink.accept(of(orderLines));
+                orderLines.clear();
+            }
+            orderLines.add(line);
+        }
+        if (!orderLines.isEmpty()) {
+            sink.accept(of(orderLines));
+        }
+    }
+
+    private static OrderResponseDTO of(List<OrderLineView> orderLines) {
+        List<OrderItemResponseDTO> items = new ArrayList<>(orderLines.size());
+        for (OrderLineView line : orderLines) {
+            if (line.getItemId() != null) {
+                items.add(new OrderItemResponseDTO(line));
+            }
+        }
+        return new OrderResponseDTO(orderLines.get(0), items);
     }
 
     // Getters
@@ -54,6 +128,10 @@ public class OrderResponseDTO {
     public String getStatus() {
         return status;
     }
+
+    public Long getVersion() {
+        return version;
+    }
 }
 
 /**
@@ -74,6 +152,14 @@ class OrderItemResponseDTO {
         this.subtotal = item.getSubtotal();
     }
 
+    OrderItemResponseDTO(OrderLineView line) {
+        this.id = line.getItemId();
+        this.name = line.getItemName();
+        this.price = line.getItemPrice();
+        this.quantity = line.getItemQuantity();
+        this.subtotal = line.getItemSubtotal();
+    }
+
     // Getters
     public Long getId() {
         return id;
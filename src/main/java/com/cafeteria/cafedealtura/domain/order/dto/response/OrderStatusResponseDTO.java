@@ -0,0 +1,31 @@
+package com.cafeteria.cafedealtura.domain.order.dto.response;
+
+import com.cafeteria.cafedealtura.domain.order.model.OrderStatus;
+
+/**
+ * DTO con el resultado de un cambio de estado de un pedido.
+ */
+public class OrderStatusResponseDTO {
+    private final Long id;
+    private final String previousStatus;
+    private final String status;
+
+    public OrderStatusResponseDTO(Long id, OrderStatus previousStatus, OrderStatus status) {
+        this.id = id;
+        this.previousStatus = previousStatus.getDescription();
+        this.status = status.getDescription();
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+}
@@ -19,10 +19,13 @@ import java.util.List;
  * - Validaciones de negocio
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_date_id", columnList = "date, id")
+})
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq")
+    @SequenceGenerator(name = "order_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -42,6 +45,9 @@ public class Order {
     @Enumerated(EnumType.STRING)
     private OrderStatus status;
 
+    @Version
+    private Long version;
+
     public Order() {
         this.date = LocalDateTime.now();
         this.status = OrderStatus.PENDING;
@@ -59,6 +65,14 @@ public class Order {
         return id;
     }
 
+    /**
+     * Versión para el control optimista de concurrencia; Hibernate la
+     * incrementa en cada actualización.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
     public void setId(Long id) {
         ValidationUtils.validatePositive(id, "id");
         this.id = id;
@@ -0,0 +1,80 @@
+package com.cafeteria.cafedealtura.domain.order.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Clave de idempotencia persistida de un pedido creado.
+ * Esta clase mapea la tabla 'order_idempotency_keys' en la base de datos.
+ * 
+ * La clave primaria es la propia clave (con el ámbito del usuario), de modo
+ * que dos inserciones simultáneas con la misma clave no pueden confirmar
+ * ambas, aunque procedan de instancias distintas de la aplicación.
+ * Implementa {@link Persistable} para que guardar una clave nueva sea siempre
+ * un INSERT (y falle si ya existe) en lugar de un merge que la sobrescriba.
+ */
+@Entity
+@Table(name = "order_idempotency_keys", indexes = {
+        @Index(name = "idx_order_idempotency_created_at", columnList = "created_at")
+})
+public class OrderIdempotencyKey implements Persistable<String> {
+    @Id
+    @Column(name = "idempotency_key", length = 150)
+    private String key;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    public OrderIdempotencyKey() {
+    }
+
+    public OrderIdempotencyKey(String key, Long orderId, String fingerprint) {
+        this.key = key;
+        this.orderId = orderId;
+        this.fingerprint = fingerprint;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -21,7 +21,8 @@ import jakarta.validation.constraints.NotNull;
 @Table(name = "order_items")
 public class OrderItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq")
+    @SequenceGenerator(name = "order_item_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -57,6 +58,18 @@ public class OrderItem {
         calculateSubtotal();
     }
 
+    /**
+     * Crea un item a partir de los datos ya conocidos del café, sin acceder a
+     * la entidad (que puede ser una referencia sin inicializar).
+     */
+    public OrderItem(Coffee coffee, String name, Double price, Integer quantity) {
+        this.coffee = coffee;
+        this.name = name;
+        this.price = price;
+        this.quantity = quantity;
+        calculateSubtotal();
+    }
+
     // Getters y setters con validación
     public Long getId() {
         return id;
@@ -1,7 +1,19 @@
 package com.cafeteria.cafedealtura.domain.order.model;
 
+import com.cafeteria.cafedealtura.common.exceptions.BadRequestException;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Enum que representa los posibles estados de un pedido.
+ * 
+ * Define también las transiciones permitidas entre estados:
+ * PENDING → CONFIRMED → PREPARING → READY → DELIVERED, y la cancelación
+ * desde PENDING o CONFIRMED.
  */
 public enum OrderStatus {
     PENDING("Pendiente"), // Pedido creado pero no confirmado
@@ -11,13 +23,63 @@ public enum OrderStatus {
     DELIVERED("Entregado"), // Pedido entregado
     CANCELLED("Cancelado"); // Pedido cancelado
 
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        TRANSITIONS.put(PENDING, EnumSet.of(CONFIRMED, CANCELLED));
+        TRANSITIONS.put(CONFIRMED, EnumSet.of(PREPARING, CANCELLED));
+        TRANSITIONS.put(PREPARING, EnumSet.of(READY));
+        TRANSITIONS.put(READY, EnumSet.of(DELIVERED));
+        TRANSITIONS.put(DELIVERED, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.replaceAll((status, targets) -> Collections.unmodifiableSet(targets));
+    }
+
     private final String description;
 
     OrderStatus(String description) {
         this.description = description;
     }
 
+    /**
+     * @return Estados a los que se puede pasar desde este
+     */
+    public Set<OrderStatus> getAllowedTransitions() {
+        return TRANSITIONS.get(this);
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return TRANSITIONS.get(this).contains(target);
+    }
+
+    /**
+     * Comprueba que la transición a otro estado esté permitida.
+     * 
+     * @param target Estado destino
+     * @throws BadRequestException si la transición no está permitida
+     */
+    public void validateTransitionTo(OrderStatus target) {
+        if (!canTransitionTo(target)) {
+            throw new BadRequestException("Transición de estado no permitida: " + this + " → " + target);
+        }
+    }
+
     public String getDescription() {
         return description;
     }
+
+    /**
+     * Convierte un nombre de estado recibido en la API.
+     * 
+     * @param value Nombre del estado (por ejemplo "PENDING")
+     * @return Estado correspondiente
+     * @throws BadRequestException si el estado no existe
+     */
+    public static OrderStatus parse(String value) {
+        try {
+            return OrderStatus.valueOf(value);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new BadRequestException("Estado de pedido inválido: " + value);
+        }
+    }
 }
\ No newline at end of file
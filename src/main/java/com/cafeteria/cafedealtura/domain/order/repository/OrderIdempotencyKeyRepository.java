@@ -0,0 +1,26 @@
+package com.cafeteria.cafedealtura.domain.order.repository;
+
+import com.cafeteria.cafedealtura.domain.order.model.OrderIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repositorio para las claves de idempotencia de pedidos.
+ */
+@Repository
+public interface OrderIdempotencyKeyRepository extends JpaRepository<OrderIdempotencyKey, String> {
+    /**
+     * Elimina las claves creadas antes de la fecha indicada.
+     * 
+     * @param cutoff Fecha límite
+     * @return Número de claves eliminadas
+     */
+    @Modifying
+    @Query("DELETE FROM OrderIdempotencyKey k WHERE k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,15 +1,26 @@
 package com.cafeteria.cafedealtura.domain.order.repository;
 
+import com.cafeteria.cafedealtura.domain.order.dto.projection.OrderLineView;
+import com.cafeteria.cafedealtura.domain.order.dto.projection.OrderStatusView;
 import com.cafeteria.cafedealtura.domain.order.model.Order;
 import com.cafeteria.cafedealtura.domain.order.model.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para la entidad Order.
@@ -17,22 +28,87 @@ import java.util.List;
  */
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
+    /**
+     * Busca un pedido por su ID cargando en la misma consulta el usuario y los
+     * items.
+     * 
+     * @param id ID del pedido
+     * @return Optional con el pedido si existe
+     */
+    @Override
+    @EntityGraph(attributePaths = { "user", "items" })
+    Optional<Order> findById(Long id);
+
+    /**
+     * Consulta base de la proyección {@link OrderLineView}.
+     */
+    String LINE_SELECT = "SELECT new com.cafeteria.cafedealtura.domain.order.dto.projection.OrderLineView("
+            + "o.id, o.date, o.status, o.total, o.version, u.id, u.name, u.email, "
+            + "i.id, i.name, i.price, i.quantity, i.subtotal) "
+            + "FROM Order o JOIN o.user u LEFT JOIN o.items i ";
+
     /**
      * Busca pedidos por ID de usuario.
      * 
      * @param userId ID del usuario
      * @return Lista de pedidos del usuario
      */
+    @EntityGraph(attributePaths = { "user", "items" })
     List<Order> findByUserId(Long userId);
 
+    /**
+     * Busca una página de pedidos de un usuario sin calcular el total.
+     * 
+     * @param userId   ID del usuario
+     * @param pageable Configuración de paginación y ordenamiento
+     * @return Porción de pedidos del usuario
+     */
+    @EntityGraph(attributePaths = "user")
+    Slice<Order> findByUserId(Long userId, Pageable pageable);
+
+    /**
+     * Recorre los pedidos de un usuario como flujo de filas de la proyección
+     * {@link OrderLineView}, leyendo de la base de datos por bloques en una
+     * única consulta. Debe consumirse dentro de una transacción y cerrarse.
+     * 
+     * @param userId ID del usuario
+     * @return Flujo de filas pedido-item ordenadas por pedido
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query(LINE_SELECT + "WHERE u.id = :userId ORDER BY o.id, i.id")
+    Stream<OrderLineView> streamLinesByUserId(@Param("userId") Long userId);
+
     /**
      * Busca pedidos por estado.
      * 
      * @param status Estado del pedido
      * @return Lista de pedidos con ese estado
      */
+    @EntityGraph(attributePaths = { "user", "items" })
     List<Order> findByStatus(OrderStatus status);
 
+    /**
+     * Busca una página de pedidos por estado sin calcular el total.
+     * 
+     * @param status   Estado del pedido
+     * @param pageable Configuración de paginación y ordenamiento
+     * @return Porción de pedidos con ese estado
+     */
+    @EntityGraph(attributePaths = "user")
+    Slice<Order> findByStatus(OrderStatus status, Pageable pageable);
+
+    /**
+     * Recorre los pedidos con un estado como flujo de filas de la proyección
+     * {@link OrderLineView}, leyendo de la base de datos por bloques en una
+     * única consulta. Debe consumirse dentro de una transacción y cerrarse.
+     * 
+     * @param status Estado del pedido
+     * @return Flujo de filas pedido-item ordenadas por pedido
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query(LINE_SELECT + "WHERE o.status = :status ORDER BY o.id, i.id")
+    Stream<OrderLineView> streamLinesByStatus(@Param("status") OrderStatus status);
+
     /**
      * Busca pedidos por rango de fechas.
      * 
@@ -40,8 +116,35 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      * @param endDate   Fecha final (inclusive)
      * @return Lista de pedidos dentro del rango de fechas
      */
+    @EntityGraph(attributePaths = { "user", "items" })
     List<Order> findByDateBetween(LocalDateTime startDate, LocalDateTime endDate);
 
+    /**
+     * Busca una página de pedidos por rango de fechas sin calcular el total.
+     * 
+     * @param startDate Fecha inicial (inclusive)
+     * @param endDate   Fecha final (inclusive)
+     * @param pageable  Configuración de paginación y ordenamiento
+     * @return Porción de pedidos dentro del rango de fechas
+     */
+    @EntityGraph(attributePaths = "user")
+    Slice<Order> findByDateBetween(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+
+    /**
+     * Recorre los pedidos de un rango de fechas como flujo de filas de la
+     * proyección {@link OrderLineView}, leyendo de la base de datos por bloques
+     * en una única consulta. Debe consumirse dentro de una transacción y
+     * cerrarse.
+     * 
+     * @param startDate Fecha inicial (inclusive)
+     * @param endDate   Fecha final (inclusive)
+     * @return Flujo de filas pedido-item ordenadas por fecha y pedido
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query(LINE_SELECT + "WHERE o.date BETWEEN :startDate AND :endDate ORDER BY o.date, o.id, i.id")
+    Stream<OrderLineView> streamLinesByDateBetween(@Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
     /**
      * Busca pedidos por usuario y estado.
      * 
@@ -49,6 +152,7 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      * @param status Estado del pedido
      * @return Lista de pedidos del usuario con ese estado
      */
+    @EntityGraph(attributePaths = { "user", "items" })
     List<Order> findByUserIdAndStatus(Long userId, OrderStatus status);
 
     /**
@@ -59,11 +163,111 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o.status as status, COUNT(o) as count FROM Order o GROUP BY o.status")
     List<Object[]> getOrderStatsByStatus();
 
+    /**
+     * Obtiene el número de pedidos y la suma de sus importes por estado,
+     * calculados íntegramente en la base de datos.
+     * 
+     * @return Lista de filas [estado, cantidad, suma de totales]
+     */
+    @Query("SELECT o.status, COUNT(o), SUM(o.total) FROM Order o GROUP BY o.status")
+    List<Object[]> getOrderTotalsByStatus();
+
+    /**
+     * Obtiene las unidades vendidas de cada café, calculadas en la base de
+     * datos.
+     * 
+     * @param excluded Estado cuyos pedidos no cuentan (normalmente CANCELLED)
+     * @return Lista de filas [ID del café, unidades vendidas]
+     */
+    @Query("SELECT i.coffee.id, SUM(i.quantity) FROM Order o JOIN o.items i "
+            + "WHERE o.status <> :excluded GROUP BY i.coffee.id")
+    List<Object[]> getUnitsSoldByCoffee(@Param("excluded") OrderStatus excluded);
+
     /**
      * Busca pedidos con paginación y ordenamiento.
      * 
      * @param pageable Configuración de paginación y ordenamiento
      * @return Página de pedidos
      */
+    @EntityGraph(attributePaths = "user")
     Page<Order> findAll(Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Primera página del listado keyset, del pedido más reciente al más
+     * antiguo. Devuelve una lista, por lo que no ejecuta ningún COUNT.
+     * 
+     * @param pageable Límite de resultados (solo se usa el tamaño)
+     * @return Pedidos ordenados por fecha e ID descendentes
+     */
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT o FROM Order o ORDER BY o.date DESC, o.id DESC")
+    List<Order> findKeysetFirstPage(Pageable pageable);
+
+    /**
+     * Página siguiente del listado keyset: busca directamente a partir de la
+     * clave (fecha, id) del último pedido devuelto, sin OFFSET.
+     * 
+     * @param date     Fecha del último pedido devuelto
+     * @param id       ID del último pedido devuelto
+     * @param pageable Límite de resultados (solo se usa el tamaño)
+     * @return Pedidos ordenados por fecha e ID descendentes
+     */
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT o FROM Order o WHERE o.date < :date OR (o.date = :date AND o.id < :id) "
+            + "ORDER BY o.date DESC, o.id DESC")
+    List<Order> findKeysetPageAfter(@Param("date") LocalDateTime date, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Proyección plana de los pedidos de un usuario: una fila por item, sin
+     * entidades gestionadas.
+     * 
+     * @param userId ID del usuario
+     * @return Filas de pedido e item ordenadas por pedido
+     */
+    @Query(LINE_SELECT + "WHERE u.id = :userId ORDER BY o.id, i.id")
+    List<OrderLineView> findLinesByUserId(@Param("userId") Long userId);
+
+    /**
+     * Proyección plana de los pedidos con un estado: una fila por item, sin
+     * entidades gestionadas.
+     * 
+     * @param status Estado del pedido
+     * @return Filas de pedido e item ordenadas por pedido
+     */
+    @Query(LINE_SELECT + "WHERE o.status = :status ORDER BY o.id, i.id")
+    List<OrderLineView> findLinesByStatus(@Param("status") OrderStatus status);
+
+    /**
+     * Proyección plana de los pedidos de un rango de fechas: una fila por item,
+     * sin entidades gestionadas.
+     * 
+     * @param startDate Fecha inicial (inclusive)
+     * @param endDate   Fecha final (inclusive)
+     * @return Filas de pedido e item ordenadas por pedido
+     */
+    @Query(LINE_SELECT + "WHERE o.date BETWEEN :startDate AND :endDate ORDER BY o.id, i.id")
+    List<OrderLineView> findLinesByDateBetween(@Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Lee solo el estado y el total de un pedido, sin cargar la entidad.
+     * 
+     * @param id ID del pedido
+     * @return Estado y total, si el pedido existe
+     */
+    @Query("SELECT o.status AS status, o.total AS total FROM Order o WHERE o.id = :id")
+    Optional<OrderStatusView> findStatusViewById(@Param("id") Long id);
+
+    /**
+     * Cambia el estado de un pedido con una única sentencia UPDATE, solo si
+     * sigue en el estado esperado.
+     * 
+     * @param id   ID del pedido
+     * @param from Estado actual esperado
+     * @param to   Estado nuevo
+     * @return 1 si se actualizó, 0 si el pedido ya no estaba en {@code from}
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :to, o.version = o.version + 1 WHERE o.id = :id AND o.status = :from")
+    int updateStatusIfCurrent(@Param("id") Long id, @Param("from") OrderStatus from, @Param("to") OrderStatus to);
+}
@@ -0,0 +1,156 @@
+package com.cafeteria.cafedealtura.domain.order.service;
+
+import com.cafeteria.cafedealtura.common.exceptions.BadRequestException;
+import com.cafeteria.cafedealtura.common.idempotency.IdempotencyStore;
+import com.cafeteria.cafedealtura.domain.order.dto.request.CreateOrderRequestDTO;
+import com.cafeteria.cafedealtura.domain.order.dto.response.OrderResponseDTO;
+import com.cafeteria.cafedealtura.domain.order.model.OrderIdempotencyKey;
+import com.cafeteria.cafedealtura.domain.order.repository.OrderIdempotencyKeyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+
+/**
+ * Creación idempotente de pedidos mediante la cabecera {@code Idempotency-Key}.
+ *
+ * Las claves se guardan en memoria ({@link IdempotencyStore}) con caducidad y
+ * tamaño acotado. Con {@code app.orders.idempotency.persistent=true} además se
+ * registran en la tabla {@code order_idempotency_keys} dentro de la misma
+ * transacción que el pedido, de modo que los reintentos se detectan también
+ * tras un reinicio o en otra instancia.
+ */
+@Service
+public class OrderIdempotencyService {
+    private static final Logger logger = LoggerFactory.getLogger(OrderIdempotencyService.class);
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final OrderService orderService;
+    private final OrderIdempotencyKeyRepository keyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyStore<OrderResponseDTO> store;
+    private final long ttlMillis;
+    private final boolean persistent;
+
+    @Autowired
+    public OrderIdempotencyService(OrderService orderService,
+            OrderIdempotencyKeyRepository keyRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.orders.idempotency.ttl-ms:86400000}") long ttlMillis,
+            @Value("${app.orders.idempotency.max-entries:10000}") int maxEntries,
+            @Value("${app.orders.idempotency.persistent:false}") boolean persistent) {
+        this.orderService = orderService;
+        this.keyRepository = keyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.store = new IdempotencyStore<>(ttlMillis, maxEntries);
+        this.ttlMillis = ttlMillis;
+        this.persistent = persistent;
+    }
+
+    /**
+     * Crea un pedido una sola vez por clave de idempotencia.
+     * Sin clave se comporta igual que {@link OrderService#create}.
+     * 
+     * @param callerId       Identificador del usuario autenticado; las claves
+     *                       solo se comparan entre peticiones del mismo usuario
+     * @param idempotencyKey Valor de la cabecera Idempotency-Key (opcional)
+     * @param createDTO      Datos del pedido a crear
+     * @return Pedido creado, o el creado originalmente si la clave se repite
+     * @throws BadRequestException si la clave no es válida o ya se usó con una
+     *                             petición distinta
+     */
+    public OrderResponseDTO create(String callerId, String idempotencyKey, CreateOrderRequestDTO createDTO) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return orderService.create(createDTO);
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("La clave de idempotencia no puede superar " + MAX_KEY_LENGTH + " caracteres");
+        }
+
+        // La clave solo tiene sentido dentro del ámbito del usuario autenticado,
+        // no del indicado en el cuerpo: así nadie puede usar ni sondear las
+        // claves de otro usuario
+        String scopedKey = callerId + ":" + idempotencyKey;
+        String fingerprint = fingerprint(createDTO);
+        return store.execute(scopedKey, fingerprint,
+                () -> persistent ? createPersistent(scopedKey, fingerprint, createDTO) : orderService.create(createDTO));
+    }
+
+    /**
+     * Elimina periódicamente las claves caducadas de memoria y, si se
+     * persisten, de la base de datos.
+     */
+    @Scheduled(fixedDelayString = "${app.orders.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        store.purgeExpired();
+        if (persistent) {
+            int deleted = transactionTemplate.execute(status -> keyRepository
+                    .deleteCreatedBefore(LocalDateTime.now().minus(ttlMillis, ChronoUnit.MILLIS)));
+            logger.debug("Claves de idempotencia caducadas eliminadas: {}", deleted);
+        }
+    }
+
+    private OrderResponseDTO createPersistent(String key, String fingerprint, CreateOrderRequestDTO createDTO) {
+        OrderResponseDTO previous = findPersisted(key, fingerprint);
+        if (previous != null) {
+            return previous;
+        }
+
+        try {
+            return transactionTemplate.execute(status -> {
+                OrderResponseDTO created = orderService.create(createDTO);
+                // A través del repositorio para que la violación de la clave
+                // primaria llegue traducida a DataIntegrityViolationException
+                keyRepository.saveAndFlush(new OrderIdempotencyKey(key, created.getId(), fingerprint));
+                return created;
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // Otra instancia confirmó antes un pedido con la misma clave
+            OrderResponseDTO winner = findPersisted(key, fingerprint);
+            if (winner == null) {
+                throw ex;
+            }
+            return winner;
+        }
+    }
+
+    private OrderResponseDTO findPersisted(String key, String fingerprint) {
+        return keyRepository.findById(key)
+                .map(stored -> {
+                    if (!stored.getFingerprint().equals(fingerprint)) {
+                        throw new BadRequestException("La clave de idempotencia ya se usó con una petición distinta");
+                    }
+                    return orderService.findById(stored.getOrderId());
+                })
+                .orElse(null);
+    }
+
+    /**
+     * Huella SHA-256 del contenido del pedido, para detectar una clave
+     * reutilizada con otra petición.
+     */
+    static String fingerprint(CreateOrderRequestDTO createDTO) {
+        StringBuilder canonical = new StringBuilder().append(createDTO.getUserId());
+        for (CreateOrderRequestDTO.OrderItemRequestDTO item : createDTO.getItems()) {
+            canonical.append('|').append(item.getCoffeeId()).append('x').append(item.getQuantity());
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 no disponible", ex);
+        }
+    }
+}
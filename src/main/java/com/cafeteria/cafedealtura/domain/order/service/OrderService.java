@@ -1,47 +1,86 @@
 package com.cafeteria.cafedealtura.domain.order.service;
 
 import com.cafeteria.cafedealtura.common.exceptions.BadRequestException;
+import com.cafeteria.cafedealtura.common.exceptions.BaseException;
+import com.cafeteria.cafedealtura.common.exceptions.ConflictException;
+import com.cafeteria.cafedealtura.common.exceptions.PreconditionFailedException;
 import com.cafeteria.cafedealtura.common.exceptions.ResourceNotFoundException;
-import com.cafeteria.cafedealtura.domain.coffee.model.Coffee;
+import com.cafeteria.cafedealtura.common.pagination.CursorCodec;
+import com.cafeteria.cafedealtura.common.pagination.CursorPage;
+import com.cafeteria.cafedealtura.common.utils.ValidationUtils;
+import com.cafeteria.cafedealtura.domain.coffee.catalog.CoffeeCatalog;
+import com.cafeteria.cafedealtura.domain.coffee.catalog.CoffeeCatalogSnapshot;
+import com.cafeteria.cafedealtura.domain.coffee.dto.response.CoffeeResponseDTO;
 import com.cafeteria.cafedealtura.domain.coffee.repository.CoffeeRepository;
+import com.cafeteria.cafedealtura.domain.order.dto.projection.OrderLineView;
+import com.cafeteria.cafedealtura.domain.order.dto.projection.OrderStatusView;
 import com.cafeteria.cafedealtura.domain.order.dto.request.CreateOrderRequestDTO;
 import com.cafeteria.cafedealtura.domain.order.dto.request.UpdateOrderRequestDTO;
+import com.cafeteria.cafedealtura.domain.order.dto.response.BulkOrderResponseDTO;
 import com.cafeteria.cafedealtura.domain.order.dto.response.OrderResponseDTO;
+import com.cafeteria.cafedealtura.domain.order.dto.response.OrderStatusResponseDTO;
 import com.cafeteria.cafedealtura.domain.order.model.Order;
 import com.cafeteria.cafedealtura.domain.order.model.OrderItem;
 import com.cafeteria.cafedealtura.domain.order.model.OrderStatus;
 import com.cafeteria.cafedealtura.domain.order.repository.OrderRepository;
 import com.cafeteria.cafedealtura.domain.user.model.User;
 import com.cafeteria.cafedealtura.domain.user.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Servicio para la gestión de pedidos.
  * Implementa la lógica de negocio relacionada con los pedidos.
  */
 @Service
+@Timed(value = "cafedealtura.service", histogram = true)
 public class OrderService {
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
     private final CoffeeRepository coffeeRepository;
+    private final CoffeeCatalog coffeeCatalog;
+    private final OrderStatsCounters statsCounters;
+
+    /**
+     * Si está activo, los listados completos se leen con una proyección plana
+     * a DTO en lugar de cargar entidades.
+     */
+    @Value("${app.orders.dto-projection:false}")
+    private boolean dtoProjection;
 
     @Autowired
     public OrderService(OrderRepository orderRepository,
             UserRepository userRepository,
-            CoffeeRepository coffeeRepository) {
+            CoffeeRepository coffeeRepository,
+            CoffeeCatalog coffeeCatalog,
+            OrderStatsCounters statsCounters) {
         this.orderRepository = orderRepository;
         this.userRepository = userRepository;
         this.coffeeRepository = coffeeRepository;
+        this.coffeeCatalog = coffeeCatalog;
+        this.statsCounters = statsCounters;
     }
 
     /**
@@ -50,6 +89,7 @@ public class OrderService {
      * @param pageable Configuración de paginación y ordenamiento
      * @return Lista de pedidos
      */
+    @Transactional(readOnly = true)
     public List<OrderResponseDTO> findAll(Pageable pageable) {
         Page<Order> page = orderRepository.findAll(pageable);
         return page.getContent().stream()
@@ -57,6 +97,48 @@ public class OrderService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Lista los pedidos con paginación por cursor, del más reciente al más
+     * antiguo. El coste es el mismo en cualquier página y no se ejecuta ningún
+     * COUNT.
+     * 
+     * @param cursor Cursor devuelto por la página anterior, o null para la
+     *               primera
+     * @param size   Tamaño de página
+     * @return Página de pedidos con el cursor de la siguiente
+     * @throws BadRequestException si el cursor no es válido
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponseDTO> scroll(String cursor, int size) {
+        int limit = CursorCodec.clampSize(size);
+        PageRequest window = PageRequest.of(0, limit + 1);
+
+        List<Order> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepository.findKeysetFirstPage(window);
+        } else {
+            String[] key = CursorCodec.decode(cursor, 2);
+            try {
+                orders = orderRepository.findKeysetPageAfter(
+                        LocalDateTime.parse(key[0]), Long.valueOf(key[1]), window);
+            } catch (DateTimeParseException | NumberFormatException ex) {
+                throw new BadRequestException("Cursor de paginación inválido", ex);
+            }
+        }
+
+        boolean hasNext = orders.size() > limit;
+        List<Order> content = hasNext ? orders.subList(0, limit) : orders;
+        String nextCursor = null;
+        if (hasNext) {
+            Order last = content.get(content.size() - 1);
+            nextCursor = CursorCodec.encode(last.getDate(), last.getId());
+        }
+
+        return new CursorPage<>(content.stream()
+                .map(OrderResponseDTO::new)
+                .collect(Collectors.toList()), nextCursor);
+    }
+
     /**
      * Busca un pedido por su ID.
      * 
@@ -64,6 +146,7 @@ public class OrderService {
      * @return Pedido encontrado
      * @throws ResourceNotFoundException si el pedido no existe
      */
+    @Transactional(readOnly = true)
     public OrderResponseDTO findById(Long id) {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Pedido", "id", id));
@@ -87,16 +170,101 @@ public class OrderService {
         // Crear pedido
         Order order = new Order(user);
 
+        // Resolver todos los cafés con una sola consulta
+        Map<Long, CoffeeResponseDTO> coffees = resolveCoffees(createDTO.getItems().stream()
+                .map(CreateOrderRequestDTO.OrderItemRequestDTO::getCoffeeId)
+                .toList());
+
         // Agregar items
         createDTO.getItems().forEach(itemDTO -> {
-            Coffee coffee = coffeeRepository.findById(itemDTO.getCoffeeId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Café", "id", itemDTO.getCoffeeId()));
-            OrderItem item = new OrderItem(coffee, itemDTO.getQuantity());
+            OrderItem item = newOrderItem(coffees.get(itemDTO.getCoffeeId()), itemDTO.getQuantity());
             order.addItem(item);
         });
 
         // Guardar pedido
-        return new OrderResponseDTO(orderRepository.save(order));
+        Order saved = orderRepository.save(order);
+        statsCounters.recordAdded(saved.getStatus(), saved.getTotal());
+        return new OrderResponseDTO(saved);
+    }
+
+    /**
+     * Crea varios pedidos en una sola transacción.
+     * Los usuarios y cafés de todo el lote se resuelven con una consulta por
+     * tipo y los pedidos válidos se insertan juntos, aprovechando las
+     * inserciones por lotes de Hibernate. Un pedido inválido no impide crear
+     * los demás: su resultado indica el motivo del rechazo.
+     * 
+     * @param requests Pedidos a crear
+     * @return Resultado de cada pedido, en el mismo orden que la petición
+     */
+    @Transactional
+    public BulkOrderResponseDTO createBulk(List<CreateOrderRequestDTO> requests) {
+        Map<Long, User> users = userRepository.findAllById(requests.stream()
+                .filter(Objects::nonNull)
+                .map(CreateOrderRequestDTO::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, CoffeeResponseDTO> coffees = findCoffees(requests.stream()
+                .filter(request -> request != null && request.getItems() != null)
+                .flatMap(request -> request.getItems().stream())
+                .filter(Objects::nonNull)
+                .map(CreateOrderRequestDTO.OrderItemRequestDTO::getCoffeeId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+        BulkOrderResponseDTO.OrderResult[] results = new BulkOrderResponseDTO.OrderResult[requests.size()];
+        List<Order> orders = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                orders.add(newOrder(requests.get(i), users, coffees));
+                positions.add(i);
+            } catch (BaseException ex) {
+                results[i] = BulkOrderResponseDTO.OrderResult.failed(i, ex.getMessage());
+            }
+        }
+
+        List<Order> saved = orderRepository.saveAll(orders);
+        for (int j = 0; j < saved.size(); j++) {
+            Order order = saved.get(j);
+            statsCounters.recordAdded(order.getStatus(), order.getTotal());
+            results[positions.get(j)] = BulkOrderResponseDTO.OrderResult.created(positions.get(j),
+                    new OrderResponseDTO(order));
+        }
+        return new BulkOrderResponseDTO(Arrays.asList(results));
+    }
+
+    /**
+     * Valida un pedido del lote contra los usuarios y cafés ya resueltos y
+     * construye la entidad.
+     */
+    private Order newOrder(CreateOrderRequestDTO request, Map<Long, User> users,
+            Map<Long, CoffeeResponseDTO> coffees) {
+        if (request == null) {
+            throw new BadRequestException("El pedido es obligatorio");
+        }
+        ValidationUtils.validateNotNull(request.getUserId(), "ID del usuario");
+        User user = users.get(request.getUserId());
+        if (user == null) {
+            throw new ResourceNotFoundException("Usuario", "id", request.getUserId());
+        }
+        if (request.getItems() == null || request.getItems().isEmpty()) {
+            throw new BadRequestException("Debe incluir al menos un item en el pedido");
+        }
+
+        Order order = new Order(user);
+        for (CreateOrderRequestDTO.OrderItemRequestDTO itemDTO : request.getItems()) {
+            ValidationUtils.validateNotNull(itemDTO, "item del pedido");
+            ValidationUtils.validateNotNull(itemDTO.getCoffeeId(), "ID del café");
+            ValidationUtils.validatePositive(itemDTO.getQuantity(), "cantidad");
+            CoffeeResponseDTO coffee = coffees.get(itemDTO.getCoffeeId());
+            if (coffee == null) {
+                throw new ResourceNotFoundException("Café", "id", itemDTO.getCoffeeId());
+            }
+            order.addItem(newOrderItem(coffee, itemDTO.getQuantity()));
+        }
+        return order;
     }
 
     /**
@@ -111,41 +279,100 @@ public class OrderService {
      */
     @Transactional
     public OrderResponseDTO update(Long id, UpdateOrderRequestDTO updateDTO) {
+        return update(id, updateDTO, null);
+    }
+
+    /**
+     * Actualiza un pedido existente si sigue en la versión esperada.
+     * 
+     * @param id              ID del pedido a actualizar
+     * @param updateDTO       Nuevos datos del pedido
+     * @param expectedVersion Versión esperada (If-Match), o null para no
+     *                        comprobarla
+     * @return Pedido actualizado con su nueva versión
+     * @throws ResourceNotFoundException   si el pedido, usuario o algún café no
+     *                                     existe
+     * @throws BadRequestException         si el pedido no puede ser modificado
+     * @throws PreconditionFailedException si la versión no coincide
+     */
+    @Transactional
+    public OrderResponseDTO update(Long id, UpdateOrderRequestDTO updateDTO, Long expectedVersion) {
         // Buscar pedido
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Pedido", "id", id));
+        if (expectedVersion != null && !expectedVersion.equals(order.getVersion())) {
+            throw new PreconditionFailedException("El pedido ha sido modificado; versión actual " + order.getVersion());
+        }
 
         // Validar que el pedido pueda ser modificado
         if (!order.canBeModified()) {
             throw new BadRequestException("El pedido no puede ser modificado en su estado actual");
         }
+        OrderStatus previousStatus = order.getStatus();
+        double previousTotal = order.getTotal();
 
         // Validar usuario
         User user = userRepository.findById(updateDTO.getUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("Usuario", "id", updateDTO.getUserId()));
         order.setUser(user);
 
-        // Actualizar estado
-        try {
-            OrderStatus newStatus = OrderStatus.valueOf(updateDTO.getStatus());
-            order.setStatus(newStatus);
-        } catch (IllegalArgumentException e) {
-            throw new BadRequestException("Estado de pedido inválido: " + updateDTO.getStatus());
+        // Actualizar estado (solo mediante transiciones permitidas)
+        OrderStatus newStatus = OrderStatus.parse(updateDTO.getStatus());
+        if (newStatus != previousStatus) {
+            previousStatus.validateTransitionTo(newStatus);
         }
+        order.setStatus(newStatus);
+
+        // Resolver todos los cafés con una sola consulta
+        Map<Long, CoffeeResponseDTO> coffees = resolveCoffees(updateDTO.getItems().stream()
+                .map(UpdateOrderRequestDTO.OrderItemRequestDTO::getCoffeeId)
+                .toList());
 
         // Limpiar items actuales
         order.getItems().clear();
 
         // Agregar nuevos items
         updateDTO.getItems().forEach(itemDTO -> {
-            Coffee coffee = coffeeRepository.findById(itemDTO.getCoffeeId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Café", "id", itemDTO.getCoffeeId()));
-            OrderItem item = new OrderItem(coffee, itemDTO.getQuantity());
+            OrderItem item = newOrderItem(coffees.get(itemDTO.getCoffeeId()), itemDTO.getQuantity());
             order.addItem(item);
         });
 
-        // Guardar pedido actualizado
-        return new OrderResponseDTO(orderRepository.save(order));
+        // Guardar pedido actualizado (con flush para devolver la nueva versión)
+        Order saved = orderRepository.saveAndFlush(order);
+        statsCounters.recordRemoved(previousStatus, previousTotal);
+        statsCounters.recordAdded(saved.getStatus(), saved.getTotal());
+        return new OrderResponseDTO(saved);
+    }
+
+    /**
+     * Cambia el estado de un pedido sin cargar la entidad.
+     * Se lee solo el estado y el total, se valida la transición y se aplica
+     * con un UPDATE condicionado al estado leído; si otra petición lo cambió
+     * entre medias, no se modifica nada.
+     * 
+     * @param id     ID del pedido
+     * @param status Estado destino
+     * @return Estado anterior y nuevo del pedido
+     * @throws ResourceNotFoundException si el pedido no existe
+     * @throws BadRequestException       si el estado o la transición no son
+     *                                   válidos
+     * @throws ConflictException         si el estado cambió de forma concurrente
+     */
+    @Transactional
+    public OrderStatusResponseDTO transitionStatus(Long id, String status) {
+        OrderStatus target = OrderStatus.parse(status);
+        OrderStatusView current = orderRepository.findStatusViewById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Pedido", "id", id));
+
+        OrderStatus previous = current.getStatus();
+        previous.validateTransitionTo(target);
+        if (orderRepository.updateStatusIfCurrent(id, previous, target) == 0) {
+            throw new ConflictException("El estado del pedido ha cambiado; vuelve a consultarlo");
+        }
+
+        statsCounters.recordRemoved(previous, current.getTotal());
+        statsCounters.recordAdded(target, current.getTotal());
+        return new OrderStatusResponseDTO(id, previous, target);
     }
 
     /**
@@ -165,6 +392,7 @@ public class OrderService {
         }
 
         orderRepository.delete(order);
+        statsCounters.recordRemoved(order.getStatus(), order.getTotal());
     }
 
     /**
@@ -173,26 +401,89 @@ public class OrderService {
      * @param userId ID del usuario
      * @return Lista de pedidos del usuario
      */
+    @Transactional(readOnly = true)
     public List<OrderResponseDTO> findByUserId(Long userId) {
+        if (dtoProjection) {
+            return OrderResponseDTO.fromLines(orderRepository.findLinesByUserId(userId));
+        }
         return orderRepository.findByUserId(userId).stream()
                 .map(OrderResponseDTO::new)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Busca una página de pedidos de un usuario.
+     * Devuelve una porción acotada sin ejecutar ningún COUNT.
+     * 
+     * @param userId   ID del usuario
+     * @param pageable Configuración de paginación y ordenamiento
+     * @return Lista de pedidos de la página solicitada
+     */
+    @Transactional(readOnly = true)
+    public List<OrderResponseDTO> findByUserId(Long userId, Pageable pageable) {
+        return orderRepository.findByUserId(userId, pageable).stream()
+                .map(OrderResponseDTO::new)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Recorre todos los pedidos de un usuario entregándolos uno a uno.
+     * Se lee la proyección plana en una sola consulta, sin entidades
+     * gestionadas, así que la memoria usada no crece con el número de filas.
+     * 
+     * @param userId ID del usuario
+     * @param sink   Consumidor que recibe cada pedido
+     */
+    @Transactional(readOnly = true)
+    public void streamByUserId(Long userId, Consumer<OrderResponseDTO> sink) {
+        try (Stream<OrderLineView> lines = orderRepository.streamLinesByUserId(userId)) {
+            OrderResponseDTO.forEachGrouped(lines, sink);
+        }
+    }
+
     /**
      * Busca pedidos por estado.
      * 
      * @param status Estado del pedido
      * @return Lista de pedidos con ese estado
      */
+    @Transactional(readOnly = true)
     public List<OrderResponseDTO> findByStatus(String status) {
-        try {
-            OrderStatus orderStatus = OrderStatus.valueOf(status);
-            return orderRepository.findByStatus(orderStatus).stream()
-                    .map(OrderResponseDTO::new)
-                    .collect(Collectors.toList());
-        } catch (IllegalArgumentException e) {
-            throw new BadRequestException("Estado de pedido inválido: " + status);
+        OrderStatus orderStatus = OrderStatus.parse(status);
+        if (dtoProjection) {
+            return OrderResponseDTO.fromLines(orderRepository.findLinesByStatus(orderStatus));
+        }
+        return orderRepository.findByStatus(orderStatus).stream()
+                .map(OrderResponseDTO::new)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Busca una página de pedidos por estado.
+     * Devuelve una porción acotada sin ejecutar ningún COUNT.
+     * 
+     * @param status   Estado del pedido
+     * @param pageable Configuración de paginación y ordenamiento
+     * @return Lista de pedidos de la página solicitada
+     * @throws BadRequestException si el estado no existe
+     */
+    @Transactional(readOnly = true)
+    public List<OrderResponseDTO> findByStatus(String status, Pageable pageable) {
+        return orderRepository.findByStatus(OrderStatus.parse(status), pageable).stream()
+                .map(OrderResponseDTO::new)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Recorre todos los pedidos con un estado entregándolos uno a uno.
+     * 
+     * @param status Estado del pedido
+     * @param sink   Consumidor que recibe cada pedido
+     */
+    @Transactional(readOnly = true)
+    public void streamByStatus(OrderStatus status, Consumer<OrderResponseDTO> sink) {
+        try (Stream<OrderLineView> lines = orderRepository.streamLinesByStatus(status)) {
+            OrderResponseDTO.forEachGrouped(lines, sink);
         }
     }
 
@@ -203,41 +494,118 @@ public class OrderService {
      * @param endDate   Fecha final (inclusive)
      * @return Lista de pedidos dentro del rango de fechas
      */
+    @Transactional(readOnly = true)
     public List<OrderResponseDTO> findByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        if (dtoProjection) {
+            return OrderResponseDTO.fromLines(orderRepository.findLinesByDateBetween(startDate, endDate));
+        }
         return orderRepository.findByDateBetween(startDate, endDate).stream()
                 .map(OrderResponseDTO::new)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Busca una página de pedidos por rango de fechas.
+     * Devuelve una porción acotada sin ejecutar ningún COUNT.
+     * 
+     * @param startDate Fecha inicial (inclusive)
+     * @param endDate   Fecha final (inclusive)
+     * @param pageable  Configuración de paginación y ordenamiento
+     * @return Lista de pedidos de la página solicitada
+     */
+    @Transactional(readOnly = true)
+    public List<OrderResponseDTO> findByDateRange(LocalDateTime startDate, LocalDateTime endDate,
+            Pageable pageable) {
+        return orderRepository.findByDateBetween(startDate, endDate, pageable).stream()
+                .map(OrderResponseDTO::new)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Recorre todos los pedidos de un rango de fechas entregándolos uno a uno.
+     * 
+     * @param startDate Fecha inicial (inclusive)
+     * @param endDate   Fecha final (inclusive)
+     * @param sink      Consumidor que recibe cada pedido
+     */
+    @Transactional(readOnly = true)
+    public void streamByDateRange(LocalDateTime startDate, LocalDateTime endDate,
+            Consumer<OrderResponseDTO> sink) {
+        try (Stream<OrderLineView> lines = orderRepository.streamLinesByDateBetween(startDate, endDate)) {
+            OrderResponseDTO.forEachGrouped(lines, sink);
+        }
+    }
+
     /**
      * Obtiene estadísticas de los pedidos.
+     * Se sirven desde contadores acumulados, sin cargar ningún pedido.
      * 
      * @return Mapa con estadísticas (total, por estado, etc.)
      */
     public Map<String, Object> getStats() {
-        Map<String, Object> stats = new HashMap<>();
-        List<Order> orders = orderRepository.findAll();
+        return statsCounters.snapshot();
+    }
 
-        // Total de pedidos
-        stats.put("totalPedidos", orders.size());
+    /**
+     * Busca todos los cafés referenciados por un pedido.
+     * Se usan los datos del catálogo en memoria y solo los cafés que no estén
+     * en él se consultan, todos juntos, en la base de datos.
+     * 
+     * @param coffeeIds IDs de los cafés (puede contener repetidos)
+     * @return Mapa de cafés encontrados indexado por ID
+     */
+    private Map<Long, CoffeeResponseDTO> findCoffees(Collection<Long> coffeeIds) {
+        CoffeeCatalogSnapshot catalog = coffeeCatalog.snapshot();
+        Map<Long, CoffeeResponseDTO> coffees = new HashMap<>();
+        Set<Long> notCached = new HashSet<>();
+        for (Long coffeeId : coffeeIds) {
+            CoffeeResponseDTO coffee = catalog.findById(coffeeId);
+            if (coffee != null) {
+                coffees.put(coffeeId, coffee);
+            } else {
+                notCached.add(coffeeId);
+            }
+        }
 
-        // Total de ventas
-        stats.put("totalVentas", orders.stream()
-                .mapToDouble(Order::getTotal)
-                .sum());
+        if (!notCached.isEmpty()) {
+            coffeeRepository.findAllById(notCached)
+                    .forEach(coffee -> coffees.put(coffee.getId(), new CoffeeResponseDTO(coffee)));
+        }
+        return coffees;
+    }
 
-        // Pedidos por estado
-        stats.put("pedidosPorEstado", orderRepository.getOrderStatsByStatus().stream()
-                .collect(Collectors.toMap(
-                        row -> ((OrderStatus) row[0]).getDescription(),
-                        row -> (Long) row[1])));
+    /**
+     * Resuelve todos los cafés de un pedido y comprueba que existan.
+     * 
+     * @param coffeeIds IDs de los cafés (puede contener repetidos)
+     * @return Mapa de cafés indexado por ID
+     * @throws ResourceNotFoundException con todos los IDs inexistentes a la vez
+     */
+    private Map<Long, CoffeeResponseDTO> resolveCoffees(Collection<Long> coffeeIds) {
+        Map<Long, CoffeeResponseDTO> coffees = findCoffees(coffeeIds);
 
-        // Promedio de ventas por pedido
-        stats.put("promedioVentas", orders.stream()
-                .mapToDouble(Order::getTotal)
-                .average()
-                .orElse(0.0));
+        List<Long> missing = coffeeIds.stream()
+                .distinct()
+                .filter(coffeeId -> !coffees.containsKey(coffeeId))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Café", "id", missing.stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(", ")));
+        }
 
-        return stats;
+        return coffees;
+    }
+
+    /**
+     * Crea un item de pedido sin cargar la entidad Coffee: se enlaza una
+     * referencia por ID y el nombre y precio se copian del catálogo.
+     */
+    private OrderItem newOrderItem(CoffeeResponseDTO coffee, Integer quantity) {
+        return new OrderItem(
+                coffeeRepository.getReferenceById(coffee.getId()),
+                coffee.getName(),
+                coffee.getPrice(),
+                quantity);
     }
-}
\ No newline at end of file
+}
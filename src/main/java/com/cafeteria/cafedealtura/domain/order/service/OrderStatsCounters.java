@@ -0,0 +1,158 @@
+package com.cafeteria.cafedealtura.domain.order.service;
+
+import com.cafeteria.cafedealtura.domain.order.model.OrderStatus;
+import com.cafeteria.cafedealtura.domain.order.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Contadores acumulados de pedidos por estado.
+ *
+ * Se inicializan una sola vez con una consulta agregada (COUNT/SUM agrupado
+ * por estado) y a partir de ahí se actualizan cuando confirma la transacción
+ * que crea, modifica o elimina un pedido. Así las estadísticas se calculan en
+ * tiempo constante sin cargar ninguna entidad.
+ *
+ * Las actualizaciones toman el bloqueo de lectura (se ejecutan en paralelo
+ * sobre los LongAdder) y la recarga el de escritura, de modo que ningún
+ * incremento se aplica mientras los contadores están a medio recalcular: se
+ * espera a que termine la recarga y se suma sobre los valores nuevos.
+ */
+@Component
+public class OrderStatsCounters {
+    private final OrderRepository orderRepository;
+    private final Map<OrderStatus, LongAdder> counts = new EnumMap<>(OrderStatus.class);
+    private final Map<OrderStatus, DoubleAdder> totals = new EnumMap<>(OrderStatus.class);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean initialized;
+
+    @Autowired
+    public OrderStatsCounters(OrderRepository orderRepository) {
+        this.orderRepository = orderRepository;
+        for (OrderStatus status : OrderStatus.values()) {
+            counts.put(status, new LongAdder());
+            totals.put(status, new DoubleAdder());
+        }
+    }
+
+    /**
+     * Carga los contadores desde la base de datos al arrancar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reload();
+    }
+
+    /**
+     * Recalcula los contadores con una consulta agregada.
+     */
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            counts.values().forEach(LongAdder::reset);
+            totals.values().forEach(DoubleAdder::reset);
+
+            for (Object[] row : orderRepository.getOrderTotalsByStatus()) {
+                OrderStatus status = (OrderStatus) row[0];
+                counts.get(status).add(((Number) row[1]).longValue());
+                totals.get(status).add(((Number) row[2]).doubleValue());
+            }
+            initialized = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Registra un pedido añadido a un estado cuando confirme la transacción
+     * actual.
+     *
+     * @param status Estado del pedido
+     * @param total  Importe total del pedido
+     */
+    public void recordAdded(OrderStatus status, double total) {
+        afterCommit(() -> apply(status, 1, total));
+    }
+
+    /**
+     * Registra un pedido retirado de un estado cuando confirme la transacción
+     * actual.
+     *
+     * @param status Estado del pedido
+     * @param total  Importe total del pedido
+     */
+    public void recordRemoved(OrderStatus status, double total) {
+        afterCommit(() -> apply(status, -1, -total));
+    }
+
+    /**
+     * Devuelve las estadísticas actuales de pedidos.
+     *
+     * @return Mapa con total de pedidos, ventas, pedidos por estado y promedio
+     */
+    public Map<String, Object> snapshot() {
+        if (!initialized) {
+            reload();
+        }
+
+        long totalPedidos = 0;
+        double totalVentas = 0.0;
+        Map<String, Long> pedidosPorEstado = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            for (OrderStatus status : OrderStatus.values()) {
+                long count = counts.get(status).sum();
+                if (count > 0) {
+                    pedidosPorEstado.put(status.getDescription(), count);
+                }
+                totalPedidos += count;
+                totalVentas += totals.get(status).sum();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalPedidos", totalPedidos);
+        stats.put("totalVentas", totalVentas);
+        stats.put("pedidosPorEstado", pedidosPorEstado);
+        stats.put("promedioVentas", totalPedidos > 0 ? totalVentas / totalPedidos : 0.0);
+        return stats;
+    }
+
+    private void apply(OrderStatus status, long countDelta, double totalDelta) {
+        lock.readLock().lock();
+        try {
+            counts.get(status).add(countDelta);
+            totals.get(status).add(totalDelta);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
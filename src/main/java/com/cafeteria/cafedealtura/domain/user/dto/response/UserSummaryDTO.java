@@ -12,9 +12,13 @@ public class UserSummaryDTO {
     private final String email;
 
     public UserSummaryDTO(User user) {
-        this.id = user.getId();
-        this.name = user.getName();
-        this.email = user.getEmail();
+        this(user.getId(), user.getName(), user.getEmail());
+    }
+
+    public UserSummaryDTO(Long id, String name, String email) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
     }
 
     // Getters
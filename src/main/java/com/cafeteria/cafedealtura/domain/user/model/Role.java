@@ -1,12 +1,17 @@
 package com.cafeteria.cafedealtura.domain.user.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Entidad que representa un rol de usuario en el sistema.
  * Mapea la tabla 'roles' en la base de datos.
+ * Cacheable en la caché de segundo nivel (perfil l2-cache).
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "roles")
 public class Role {
     @Id
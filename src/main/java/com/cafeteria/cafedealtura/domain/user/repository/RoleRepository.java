@@ -1,7 +1,10 @@
 package com.cafeteria.cafedealtura.domain.user.repository;
 
 import com.cafeteria.cafedealtura.domain.user.model.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
@@ -11,6 +14,14 @@ import java.util.Optional;
  */
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
+    /**
+     * Busca un rol por nombre. El resultado se guarda en la caché de
+     * consultas cuando está activa (perfil l2-cache).
+     * 
+     * @param name Nombre del rol
+     * @return Rol encontrado
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Role> findByName(String name);
 
     boolean existsByName(String name);
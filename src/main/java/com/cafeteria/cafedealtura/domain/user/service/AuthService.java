@@ -9,6 +9,7 @@ import com.cafeteria.cafedealtura.domain.user.model.User;
 import com.cafeteria.cafedealtura.domain.user.repository.RoleRepository;
 import com.cafeteria.cafedealtura.domain.user.repository.UserRepository;
 import com.cafeteria.cafedealtura.security.JwtTokenProvider;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -27,6 +28,7 @@ import java.util.stream.Collectors;
  * Maneja el registro y login de usuarios.
  */
 @Service
+@Timed(value = "cafedealtura.service", histogram = true)
 public class AuthService {
         private final AuthenticationManager authenticationManager;
         private final UserRepository userRepository;
@@ -1,16 +0,0 @@
-package com.cafeteria.cafedealtura.exception;
-
-import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.ResponseStatus;
-
-@ResponseStatus(HttpStatus.NOT_FOUND)
-public class ResourceNotFoundException extends RuntimeException {
-
-    public ResourceNotFoundException(String message) {
-        super(message);
-    }
-
-    public ResourceNotFoundException(String resourceName, String fieldName, Object fieldValue) {
-        super(String.format("%s no encontrado con %s : '%s'", resourceName, fieldName, fieldValue));
-    }
-}
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.cafeteria.cafedealtura.security;
 
 import com.cafeteria.cafedealtura.security.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,6 +11,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -28,21 +32,48 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
 
+    @Autowired
+    private JwtClaimsRevalidator claimsRevalidator;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer verifyTimer;
+
+    /**
+     * Si está activo, la autenticación se construye solo con los claims del
+     * token, sin cargar el usuario desde la base de datos en cada petición.
+     */
+    @Value("${app.jwt.stateless:true}")
+    private boolean statelessAuthentication;
+
+    @PostConstruct
+    void registerMetrics() {
+        verifyTimer = Timer.builder("cafedealtura.jwt.verify")
+                .description("Tiempo de verificación del token JWT")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String email = tokenProvider.getEmailFromJWT(jwt);
+            JwtPrincipal principal = StringUtils.hasText(jwt)
+                    ? verifyTimer.record(() -> tokenProvider.verify(jwt)).orElse(null)
+                    : null;
 
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            if (principal != null) {
+                UsernamePasswordAuthenticationToken authentication = statelessAuthentication
+                        ? authenticateFromClaims(principal)
+                        : authenticateFromUserDetails(principal);
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                if (authentication != null) {
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             logger.error("No se pudo establecer la autenticación del usuario en el contexto de seguridad", ex);
@@ -51,6 +82,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UsernamePasswordAuthenticationToken authenticateFromClaims(JwtPrincipal principal) {
+        if (!claimsRevalidator.isStillValid(principal)) {
+            logger.warn("Token JWT con claims obsoletos para el usuario {}", principal.getEmail());
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    private UsernamePasswordAuthenticationToken authenticateFromUserDetails(JwtPrincipal principal) {
+        UserDetails userDetails = customUserDetailsService.loadUserByUsername(principal.getEmail());
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
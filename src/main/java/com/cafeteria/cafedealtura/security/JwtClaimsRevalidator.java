@@ -0,0 +1,100 @@
+package com.cafeteria.cafedealtura.security;
+
+import com.cafeteria.cafedealtura.domain.user.model.Role;
+import com.cafeteria.cafedealtura.domain.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Comprobación de obsolescencia acotada para la autenticación sin estado.
+ *
+ * Cuando la autenticación se construye solo con los claims del token, los
+ * cambios de roles o el borrado de un usuario no se verían hasta que el token
+ * expire. Este componente vuelve a consultar al usuario como mucho una vez por
+ * intervalo ({@code app.jwt.recheck-interval-ms}) y rechaza los tokens cuyos
+ * roles ya no coinciden con los de la base de datos. Con un intervalo de 0 la
+ * comprobación queda desactivada.
+ */
+@Component
+public class JwtClaimsRevalidator {
+
+    private final UserRepository userRepository;
+    private final Map<String, VerifiedUser> verifiedUsers = new ConcurrentHashMap<>();
+
+    @Value("${app.jwt.recheck-interval-ms:300000}")
+    private long recheckIntervalMs;
+
+    @Value("${app.jwt.recheck-max-entries:10000}")
+    private int maxEntries;
+
+    @Autowired
+    public JwtClaimsRevalidator(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Indica si los claims del token siguen siendo coherentes con el usuario
+     * almacenado.
+     *
+     * @param principal Principal construido a partir del token
+     * @return true si el usuario existe y conserva los mismos roles
+     */
+    @Transactional(readOnly = true)
+    public boolean isStillValid(JwtPrincipal principal) {
+        if (recheckIntervalMs <= 0) {
+            return true;
+        }
+
+        Set<String> tokenRoles = new HashSet<>(principal.getRoles());
+        long now = System.currentTimeMillis();
+        VerifiedUser verified = verifiedUsers.get(principal.getEmail());
+        if (verified != null && now - verified.verifiedAt < recheckIntervalMs) {
+            return verified.roles.equals(tokenRoles);
+        }
+
+        Set<String> currentRoles = userRepository.findByEmail(principal.getEmail())
+                .map(user -> user.getRoles().stream()
+                        .map(Role::getName)
+                        .collect(Collectors.toSet()))
+                .orElse(null);
+
+        if (currentRoles == null) {
+            verifiedUsers.remove(principal.getEmail());
+            return false;
+        }
+
+        if (verifiedUsers.size() >= maxEntries) {
+            verifiedUsers.clear();
+        }
+        verifiedUsers.put(principal.getEmail(), new VerifiedUser(now, currentRoles));
+        return currentRoles.equals(tokenRoles);
+    }
+
+    /**
+     * Olvida la última verificación de un usuario para que su próxima petición
+     * vuelva a consultarse contra la base de datos.
+     *
+     * @param email Email del usuario
+     */
+    public void invalidate(String email) {
+        verifiedUsers.remove(email);
+    }
+
+    private static final class VerifiedUser {
+        private final long verifiedAt;
+        private final Set<String> roles;
+
+        private VerifiedUser(long verifiedAt, Set<String> roles) {
+            this.verifiedAt = verifiedAt;
+            this.roles = roles;
+        }
+    }
+}
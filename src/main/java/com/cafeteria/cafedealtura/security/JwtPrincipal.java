@@ -0,0 +1,82 @@
+package com.cafeteria.cafedealtura.security;
+
+import com.cafeteria.cafedealtura.security.evaluator.RoleMask;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Principal autenticado construido a partir de los claims de un token JWT ya
+ * verificado.
+ * Permite autenticar cada petición sin consultar la base de datos: el email,
+ * el ID y los roles viajan firmados dentro del propio token.
+ */
+public class JwtPrincipal implements Principal {
+    private final String email;
+    private final Long userId;
+    private final List<String> roles;
+    private final List<GrantedAuthority> authorities;
+    private final long roleMask;
+    private final long expiresAt;
+
+    public JwtPrincipal(String email, Long userId, List<String> roles, long expiresAt) {
+        this.email = email;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+        this.roles = List.copyOf(roles);
+        this.authorities = this.roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+        this.roleMask = RoleMask.of(this.roles);
+    }
+
+    /**
+     * Devuelve el email del usuario, que es el nombre usado por
+     * {@code Authentication.getName()}.
+     */
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    /**
+     * Roles del usuario como máscara de bits (ver {@link RoleMask}).
+     */
+    public long getRoleMask() {
+        return roleMask;
+    }
+
+    /**
+     * Instante de expiración del token en milisegundos desde epoch.
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
@@ -5,11 +5,14 @@ import com.cafeteria.cafedealtura.domain.user.model.User;
 import io.jsonwebtoken.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Proveedor de tokens JWT para la autenticación.
@@ -19,9 +22,16 @@ import java.util.Date;
 public class JwtTokenProvider {
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
+    private final VerifiedTokenCache tokenCache;
+
     @Value("${app.jwt.secret}")
     private String jwtSecret;
 
+    @Autowired
+    public JwtTokenProvider(VerifiedTokenCache tokenCache) {
+        this.tokenCache = tokenCache;
+    }
+
     /**
      * Genera un token JWT para un usuario.
      * 
@@ -44,6 +54,31 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    /**
+     * Verifica un token JWT y extrae su principal con un único parseo.
+     * Los tokens ya verificados se sirven desde la caché sin repetir el
+     * cálculo HMAC mientras no expiren.
+     * 
+     * @param token Token JWT
+     * @return Principal del token, o vacío si el token no es válido
+     */
+    public Optional<JwtPrincipal> verify(String token) {
+        try {
+            return Optional.of(getPrincipalFromJWT(token));
+        } catch (SignatureException ex) {
+            logger.error("Firma JWT inválida");
+        } catch (MalformedJwtException ex) {
+            logger.error("Token JWT malformado");
+        } catch (ExpiredJwtException ex) {
+            logger.error("Token JWT expirado");
+        } catch (UnsupportedJwtException ex) {
+            logger.error("Token JWT no soportado");
+        } catch (IllegalArgumentException ex) {
+            logger.error("Claims JWT vacíos");
+        }
+        return Optional.empty();
+    }
+
     /**
      * Obtiene el email del usuario desde un token JWT.
      * 
@@ -51,12 +86,44 @@ public class JwtTokenProvider {
      * @return Email del usuario
      */
     public String getEmailFromJWT(String token) {
+        return getPrincipalFromJWT(token).getEmail();
+    }
+
+    /**
+     * Construye el principal autenticado a partir de los claims de un token JWT.
+     * 
+     * @param token Token JWT
+     * @return Principal con email, ID de usuario y roles
+     * @throws JwtException             si el token no es válido
+     * @throws IllegalArgumentException si el token está vacío
+     */
+    public JwtPrincipal getPrincipalFromJWT(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("Token JWT vacío");
+        }
+
+        String cacheKey = tokenCache.key(token);
+        JwtPrincipal cached = tokenCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
         Claims claims = Jwts.parser()
                 .setSigningKey(jwtSecret)
                 .parseClaimsJws(token)
                 .getBody();
 
-        return claims.getSubject();
+        Number userId = claims.get("userId", Number.class);
+        List<?> roles = claims.get("roles", List.class);
+        Date expiration = claims.getExpiration();
+        JwtPrincipal principal = new JwtPrincipal(
+                claims.getSubject(),
+                userId != null ? userId.longValue() : null,
+                roles != null ? roles.stream().map(String::valueOf).toList() : List.of(),
+                expiration != null ? expiration.getTime() : Long.MAX_VALUE);
+
+        tokenCache.put(cacheKey, principal);
+        return principal;
     }
 
     /**
@@ -66,20 +133,6 @@ public class JwtTokenProvider {
      * @return true si el token es válido
      */
     public boolean validateToken(String authToken) {
-        try {
-            Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(authToken);
-            return true;
-        } catch (SignatureException ex) {
-            logger.error("Firma JWT inválida");
-        } catch (MalformedJwtException ex) {
-            logger.error("Token JWT malformado");
-        } catch (ExpiredJwtException ex) {
-            logger.error("Token JWT expirado");
-        } catch (UnsupportedJwtException ex) {
-            logger.error("Token JWT no soportado");
-        } catch (IllegalArgumentException ex) {
-            logger.error("Claims JWT vacíos");
-        }
-        return false;
+        return verify(authToken).isPresent();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,99 @@
+package com.cafeteria.cafedealtura.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caché acotada de tokens JWT ya verificados.
+ *
+ * Las entradas se indexan por el hash SHA-256 del token (nunca se guarda el
+ * token en claro) y caducan cuando expira el propio token, de modo que las
+ * peticiones repetidas con el mismo bearer se saltan el parseo y la
+ * verificación HMAC. Con {@code app.jwt.cache.max-entries=0} queda desactivada.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Map<String, JwtPrincipal> entries = new ConcurrentHashMap<>();
+
+    @Value("${app.jwt.cache.max-entries:10000}")
+    private int maxEntries;
+
+    /**
+     * Calcula la clave de caché de un token. Se calcula una sola vez por
+     * petición y se reutiliza en {@link #get} y {@link #put}.
+     *
+     * @param token Token JWT
+     * @return Hash SHA-256 del token, o null si la caché está desactivada
+     */
+    public String key(String token) {
+        return maxEntries > 0 ? hash(token) : null;
+    }
+
+    /**
+     * Busca el principal asociado a un token verificado previamente.
+     *
+     * @param key Clave del token obtenida con {@link #key}
+     * @return Principal en caché o null si no existe o ha expirado
+     */
+    public JwtPrincipal get(String key) {
+        if (key == null) {
+            return null;
+        }
+        JwtPrincipal principal = entries.get(key);
+        if (principal != null && principal.isExpired(System.currentTimeMillis())) {
+            entries.remove(key, principal);
+            return null;
+        }
+        return principal;
+    }
+
+    /**
+     * Guarda el principal de un token recién verificado.
+     *
+     * @param key       Clave del token obtenida con {@link #key}
+     * @param principal Principal extraído del token
+     */
+    public void put(String key, JwtPrincipal principal) {
+        if (key == null) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        entries.put(key, principal);
+    }
+
+    /**
+     * Elimina todas las entradas. Útil cuando cambia la clave de firma o se
+     * revocan tokens de forma masiva.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(principal -> principal.isExpired(now));
+        if (entries.size() >= maxEntries) {
+            entries.clear();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hashed = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hashed);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 no disponible", ex);
+        }
+    }
+}
@@ -1,8 +1,9 @@
 package com.cafeteria.cafedealtura.security.aspect;
 
-import com.cafeteria.cafedealtura.exception.UnauthorizedException;
+import com.cafeteria.cafedealtura.common.exceptions.UnauthorizedException;
 import com.cafeteria.cafedealtura.security.annotation.RequireRole;
 import com.cafeteria.cafedealtura.security.evaluator.RoleEvaluator;
+import com.cafeteria.cafedealtura.security.evaluator.RoleMask;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
@@ -11,6 +12,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Aspect
 @Component
@@ -19,14 +22,20 @@ public class RoleAspect {
     @Autowired
     private RoleEvaluator roleEvaluator;
 
+    /**
+     * Máscara de roles requerida por cada método anotado, calculada la primera
+     * vez que se invoca.
+     */
+    private final Map<Method, Long> requiredMasks = new ConcurrentHashMap<>();
+
     @Before("@annotation(com.cafeteria.cafedealtura.security.annotation.RequireRole)")
     public void checkRole(JoinPoint joinPoint) {
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        Method method = signature.getMethod();
-        RequireRole requireRole = method.getAnnotation(RequireRole.class);
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        long requiredMask = requiredMasks.computeIfAbsent(method,
+                m -> RoleMask.of(m.getAnnotation(RequireRole.class).value()));
 
-        if (!roleEvaluator.hasAnyRole(requireRole)) {
-            throw new UnauthorizedException("No tienes los roles necesarios para acceder a este recurso");
+        if (!roleEvaluator.hasAnyRole(requiredMask)) {
+            throw UnauthorizedException.ACCESS_DENIED;
         }
     }
-}
\ No newline at end of file
+}
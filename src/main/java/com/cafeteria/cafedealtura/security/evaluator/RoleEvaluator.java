@@ -1,47 +1,63 @@
 package com.cafeteria.cafedealtura.security.evaluator;
 
+import com.cafeteria.cafedealtura.security.JwtPrincipal;
 import com.cafeteria.cafedealtura.security.annotation.RequireRole;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.stream.Collectors;
-
 @Component
 public class RoleEvaluator {
 
     public boolean hasAnyRole(RequireRole requireRole) {
+        return hasAnyRole(RoleMask.of(requireRole.value()));
+    }
+
+    public boolean hasAllRoles(RequireRole requireRole) {
+        return hasAllRoles(RoleMask.of(requireRole.value()));
+    }
+
+    /**
+     * Comprueba si el usuario autenticado tiene alguno de los roles de la
+     * máscara.
+     *
+     * @param requiredMask Máscara de roles calculada con {@link RoleMask}
+     * @return true si comparte al menos un rol
+     */
+    public boolean hasAnyRole(long requiredMask) {
+        return (currentRoleMask() & requiredMask) != 0;
+    }
+
+    /**
+     * Comprueba si el usuario autenticado tiene todos los roles de la máscara.
+     *
+     * @param requiredMask Máscara de roles calculada con {@link RoleMask}
+     * @return true si tiene todos los roles
+     */
+    public boolean hasAllRoles(long requiredMask) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             return false;
         }
-
-        Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
-        return authorities.stream()
-                .map(GrantedAuthority::getAuthority)
-                .anyMatch(authority -> Arrays.asList(requireRole.value())
-                        .stream()
-                        .anyMatch(role -> authority.equals("ROLE_" + role)));
+        return (roleMask(authentication) & requiredMask) == requiredMask;
     }
 
-    public boolean hasAllRoles(RequireRole requireRole) {
+    private long currentRoleMask() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
-            return false;
+            return 0L;
         }
+        return roleMask(authentication);
+    }
 
-        Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
-        Collection<String> requiredRoles = Arrays.stream(requireRole.value())
-                .map(role -> "ROLE_" + role)
-                .collect(Collectors.toList());
-
-        return authorities.stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.toList())
-                .containsAll(requiredRoles);
+    /**
+     * Los principales JWT traen la máscara precalculada; el resto (modo con
+     * estado, tests...) la calculan a partir de sus autoridades.
+     */
+    private static long roleMask(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return principal.getRoleMask();
+        }
+        return RoleMask.ofAuthorities(authentication.getAuthorities());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,87 @@
+package com.cafeteria.cafedealtura.security.evaluator;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de roles como bits de una máscara {@code long}.
+ *
+ * Cada nombre de rol recibe un bit la primera vez que aparece, de modo que un
+ * conjunto de roles se representa como una máscara y comprobar si un usuario
+ * tiene alguno de los roles requeridos es un único AND a nivel de bits.
+ * Admite hasta 64 roles distintos.
+ */
+public final class RoleMask {
+    private static final String ROLE_PREFIX = "ROLE_";
+    private static final Map<String, Long> BITS = new ConcurrentHashMap<>();
+
+    private RoleMask() {
+    }
+
+    /**
+     * Devuelve el bit asignado a un rol, asignándole uno nuevo si no lo tenía.
+     *
+     * @param role Nombre del rol, con o sin prefijo {@code ROLE_}
+     * @return Máscara con un único bit activo
+     * @throws IllegalStateException si se superan los 64 roles
+     */
+    public static long bit(String role) {
+        String name = role.startsWith(ROLE_PREFIX) ? role.substring(ROLE_PREFIX.length()) : role;
+        Long bit = BITS.get(name);
+        return bit != null ? bit : register(name);
+    }
+
+    /**
+     * @param roles Nombres de rol
+     * @return Máscara con los bits de todos los roles
+     */
+    public static long of(String... roles) {
+        long mask = 0L;
+        for (String role : roles) {
+            mask |= bit(role);
+        }
+        return mask;
+    }
+
+    /**
+     * @param roles Nombres de rol
+     * @return Máscara con los bits de todos los roles
+     */
+    public static long of(Collection<String> roles) {
+        long mask = 0L;
+        for (String role : roles) {
+            mask |= bit(role);
+        }
+        return mask;
+    }
+
+    /**
+     * @param authorities Autoridades de Spring Security ({@code ROLE_*})
+     * @return Máscara con los bits de todos los roles
+     */
+    public static long ofAuthorities(Collection<? extends GrantedAuthority> authorities) {
+        long mask = 0L;
+        for (GrantedAuthority authority : authorities) {
+            if (authority.getAuthority() != null) {
+                mask |= bit(authority.getAuthority());
+            }
+        }
+        return mask;
+    }
+
+    private static synchronized long register(String name) {
+        Long existing = BITS.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        if (BITS.size() >= Long.SIZE) {
+            throw new IllegalStateException("No se pueden registrar más de " + Long.SIZE + " roles");
+        }
+        long bit = 1L << BITS.size();
+        BITS.put(name, bit);
+        return bit;
+    }
+}
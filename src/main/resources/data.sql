@@ -2,7 +2,7 @@
 INSERT INTO roles (name) SELECT 'ADMIN' WHERE NOT EXISTS (SELECT 1 FROM roles WHERE name = 'ADMIN');
 
 -- Crear usuario admin (password: admin123, BCrypt hash)
-INSERT INTO users (name, email, password) VALUES ('Administrador', 'admin@cafe.com', '$2a$10$7EqJtq98hPqEX7fNZaFWoOa5rE6i6rL2F6Qe5p8l6y1ZC1Q1Yy1yG');
+INSERT INTO users (id, name, email, password) VALUES (NEXT VALUE FOR users_seq, 'Administrador', 'admin@cafe.com', '$2a$10$7EqJtq98hPqEX7fNZaFWoOa5rE6i6rL2F6Qe5p8l6y1ZC1Q1Yy1yG');
 
 -- Asignar rol ADMIN al usuario admin
 INSERT INTO user_roles (user_id, role_id)
@@ -0,0 +1,70 @@
+package com.cafeteria.cafedealtura.common.idempotency;
+
+import com.cafeteria.cafedealtura.common.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdempotencyStoreTest {
+
+    @Test
+    void concurrentDuplicatesExecuteOnce() throws Exception {
+        IdempotencyStore<Integer> store = new IdempotencyStore<>(60_000, 100);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return store.execute("1:abc", "hash", () -> {
+                        sleep(50);
+                        return executions.incrementAndGet();
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertEquals(1, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void failureReleasesKey() {
+        IdempotencyStore<Integer> store = new IdempotencyStore<>(60_000, 100);
+        assertThrows(IllegalStateException.class, () -> store.execute("1:abc", "hash", () -> {
+            throw new IllegalStateException("fallo");
+        }));
+        assertEquals(2, store.execute("1:abc", "hash", () -> 2));
+    }
+
+    @Test
+    void reusedKeyWithDifferentRequestIsRejected() {
+        IdempotencyStore<Integer> store = new IdempotencyStore<>(60_000, 100);
+        store.execute("1:abc", "hash", () -> 1);
+        assertThrows(BadRequestException.class, () -> store.execute("1:abc", "otro", () -> 2));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.cafeteria.cafedealtura.config;
+
+import com.cafeteria.cafedealtura.domain.coffee.model.Coffee;
+import com.cafeteria.cafedealtura.domain.coffee.repository.CoffeeRepository;
+import com.cafeteria.cafedealtura.domain.user.repository.RoleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba con el perfil l2-cache que Coffee y la consulta de roles por
+ * nombre se sirven desde la caché de segundo nivel y que una escritura no
+ * deja datos obsoletos.
+ */
+@SpringBootTest
+@ActiveProfiles("l2-cache")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private CoffeeRepository coffeeRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Coffee coffee;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        coffee = coffeeRepository.save(new Coffee("Café caché", "Café para la caché de segundo nivel", 2.5, "Kenia"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        coffeeRepository.deleteById(coffee.getId());
+    }
+
+    @Test
+    void coffeeReadsHitTheCache() {
+        coffeeRepository.findById(coffee.getId());
+        statistics.clear();
+        coffeeRepository.findById(coffee.getId());
+        assertTrue(statistics.getSecondLevelCacheHitCount() >= 1, "Aciertos: " + statistics.getSecondLevelCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void coffeeUpdateIsNotReadStale() {
+        coffeeRepository.findById(coffee.getId());
+        Coffee updated = coffeeRepository.findById(coffee.getId()).orElseThrow();
+        updated.setPrice(3.5);
+        coffeeRepository.save(updated);
+
+        statistics.clear();
+        assertEquals(3.5, coffeeRepository.findById(coffee.getId()).orElseThrow().getPrice());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void roleLookupUsesQueryCache() {
+        roleRepository.findByName("ADMIN");
+        statistics.clear();
+        roleRepository.findByName("ADMIN");
+        assertTrue(statistics.getQueryCacheHitCount() >= 1, "Aciertos: " + statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,72 @@
+package com.cafeteria.cafedealtura.domain.coffee.catalog;
+
+import com.cafeteria.cafedealtura.domain.coffee.dto.response.CoffeeResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PriceIndexTest {
+    private static final String[] ORIGINS = { "Colombia", "Brasil", "Etiopía" };
+
+    @Test
+    void rangeCombinesPriceOriginOrderAndLimit() {
+        PriceIndex index = PriceIndex.of(List.of(
+                coffee(1, 5.0, "Colombia"),
+                coffee(2, 3.0, "Brasil"),
+                coffee(3, 5.0, "Brasil"),
+                coffee(4, 9.5, "Colombia"),
+                coffee(5, 7.0, "Brasil")));
+
+        assertEquals(List.of(2L, 1L, 3L, 5L), ids(index.range(3.0, 7.0, null, false, 10)));
+        assertEquals(List.of(5L, 3L), ids(index.range(4.0, 10.0, "Brasil", true, 2)));
+        assertEquals(List.of(), ids(index.range(4.0, 10.0, "Kenia", false, 10)));
+        assertEquals(List.of(), ids(index.range(8.0, 9.0, null, false, 10)));
+    }
+
+    @Test
+    void incrementalUpdatesMatchFullRebuild() {
+        Random random = new Random(42);
+        Map<Long, CoffeeResponseDTO> coffees = new HashMap<>();
+        PriceIndex index = PriceIndex.of(List.of());
+
+        for (int i = 0; i < 500; i++) {
+            long id = 1 + random.nextInt(50);
+            CoffeeResponseDTO previous = coffees.get(id);
+            if (previous != null && random.nextInt(4) == 0) {
+                coffees.remove(id);
+                index = index.withRemoval(previous);
+            } else {
+                CoffeeResponseDTO coffee = coffee(id, 1 + random.nextInt(10), ORIGINS[random.nextInt(ORIGINS.length)]);
+                coffees.put(id, coffee);
+                index = index.withUpsert(previous, coffee);
+            }
+        }
+
+        PriceIndex rebuilt = PriceIndex.of(coffees.values());
+        assertEquals(rebuilt.size(), index.size());
+        for (String origin : new String[] { null, "Colombia", "Etiopía" }) {
+            List<CoffeeResponseDTO> expected = new ArrayList<>(coffees.values());
+            expected.removeIf(coffee -> coffee.getPrice() < 3 || coffee.getPrice() > 8
+                    || (origin != null && !origin.equals(coffee.getOrigin())));
+            expected.sort(Comparator.comparing(CoffeeResponseDTO::getPrice).thenComparing(CoffeeResponseDTO::getId));
+
+            assertEquals(ids(expected), ids(index.range(3, 8, origin, false, Integer.MAX_VALUE)));
+            assertEquals(ids(expected), ids(rebuilt.range(3, 8, origin, false, Integer.MAX_VALUE)));
+        }
+    }
+
+    private static CoffeeResponseDTO coffee(long id, double price, String origin) {
+        return new CoffeeResponseDTO(id, "Café " + id, "Café de prueba", price, origin);
+    }
+
+    private static List<Long> ids(List<CoffeeResponseDTO> coffees) {
+        return coffees.stream().map(CoffeeResponseDTO::getId).toList();
+    }
+}
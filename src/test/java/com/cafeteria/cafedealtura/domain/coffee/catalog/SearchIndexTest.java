@@ -0,0 +1,52 @@
+package com.cafeteria.cafedealtura.domain.coffee.catalog;
+
+import com.cafeteria.cafedealtura.domain.coffee.dto.response.CoffeeResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SearchIndexTest {
+    private static final CoffeeResponseDTO ETHIOPIA = new CoffeeResponseDTO(
+            1L, "Café de Etiopía", "Notas florales y cítricas", 5.0, "Etiopía");
+    private static final CoffeeResponseDTO COLOMBIA = new CoffeeResponseDTO(
+            2L, "Colombia Supremo", "Cuerpo medio, notas de caramelo", 4.0, "Colombia");
+    private static final CoffeeResponseDTO BLEND = new CoffeeResponseDTO(
+            3L, "Espresso Blend", "Mezcla de Brasil y Etiopía", 3.0, "Brasil");
+
+    @Test
+    void foldsAccentsAndRanksNameAboveDescription() {
+        SearchIndex index = SearchIndex.of(List.of(ETHIOPIA, COLOMBIA, BLEND));
+
+        assertEquals(List.of(1L, 3L), index.search("ETIOPIA", 10));
+        assertEquals(List.of(1L), index.search("cafe etio", 10));
+        assertEquals(List.of(2L), index.search("notas caramelo", 10));
+        assertEquals(List.of(), index.search("de", 10));
+    }
+
+    @Test
+    void trailingStopWordIsKeptAsPrefix() {
+        CoffeeResponseDTO decaf = new CoffeeResponseDTO(
+                4L, "Colombia Descafeinado", "Sin cafeína, notas de cacao", 4.5, "Colombia");
+        SearchIndex index = SearchIndex.of(List.of(ETHIOPIA, COLOMBIA, BLEND, decaf));
+
+        assertEquals(List.of(4L), index.search("de", 10));
+        assertEquals(List.of(4L), index.search("colombia de", 10));
+        // Terminada con espacio, "de" ya es una palabra vacía completa
+        assertEquals(List.of(2L, 4L), index.search("colombia de ", 10));
+    }
+
+    @Test
+    void incrementalUpdatesReplaceOldTerms() {
+        SearchIndex index = SearchIndex.of(List.of(ETHIOPIA, COLOMBIA));
+        index = index.withUpsert(null, BLEND);
+        CoffeeResponseDTO renamed = new CoffeeResponseDTO(2L, "Huila", "Cuerpo medio", 4.0, "Colombia");
+        index = index.withUpsert(COLOMBIA, renamed);
+        index = index.withRemoval(ETHIOPIA);
+
+        assertEquals(List.of(3L), index.search("etiopía", 10));
+        assertEquals(List.of(), index.search("supremo", 10));
+        assertEquals(List.of(2L), index.search("hui", 10));
+    }
+}
@@ -0,0 +1,84 @@
+package com.cafeteria.cafedealtura.domain.coffee.catalog;
+
+import com.cafeteria.cafedealtura.domain.coffee.dto.response.CoffeeSuggestionDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SuggestionTrieTest {
+    private static final CoffeeSuggestionDTO SUPREMO = coffee(1, "Colombia Supremo", 40);
+    private static final CoffeeSuggestionDTO ETHIOPIA = coffee(2, "Café de Etiopía", 25);
+    private static final CoffeeSuggestionDTO BLEND = coffee(3, "Espresso Blend", 60);
+    private static final CoffeeSuggestionDTO COLOMBIA = new CoffeeSuggestionDTO(
+            "Colombia", CoffeeSuggestionDTO.TYPE_ORIGIN, null, 40);
+
+    @Test
+    void matchesWordStartsFoldingAccentsAndCase() {
+        SuggestionTrie trie = SuggestionTrie.of(List.of(SUPREMO, ETHIOPIA, BLEND, COLOMBIA), 10);
+
+        assertEquals(List.of("Colombia Supremo"), texts(trie.complete("sup")));
+        assertEquals(List.of("Café de Etiopía"), texts(trie.complete("ETIOPIA")));
+        assertEquals(List.of("Café de Etiopía"), texts(trie.complete("  cafe")));
+        assertEquals(List.of(), texts(trie.complete("premo")));
+    }
+
+    @Test
+    void ranksByPopularityAndCapsResults() {
+        List<CoffeeSuggestionDTO> entries = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            entries.add(coffee(10 + i, "Blend " + i, i));
+        }
+        entries.add(BLEND);
+        SuggestionTrie trie = SuggestionTrie.of(entries, 3);
+
+        assertEquals(List.of("Espresso Blend", "Blend 7", "Blend 6"), texts(trie.complete("bl")));
+        // Empate de popularidad: primero por texto
+        SuggestionTrie tied = SuggestionTrie.of(List.of(SUPREMO, COLOMBIA), 10);
+        assertEquals(List.of("Colombia", "Colombia Supremo"), texts(tied.complete("col")));
+    }
+
+    @Test
+    void handlesKeysLongerThanMaxKeyLength() {
+        String name = "Finca La Esmeralda Geisha Lavado Natural Reserva";
+        SuggestionTrie trie = SuggestionTrie.of(List.of(coffee(1, name, 5),
+                coffee(2, "Finca La Esmeralda Geisha Lavado Honey", 3)), 10);
+
+        String longPrefix = "finca la esmeralda geisha lavado natural";
+        assertTrue(longPrefix.length() > SuggestionTrie.MAX_KEY_LENGTH);
+        assertEquals(List.of(name), texts(trie.complete(longPrefix)));
+        assertEquals(2, trie.complete("finca la esmeralda geisha lavado").size());
+    }
+
+    @Test
+    void findsLongPrefixMatchesOutsideTheNodeTop() {
+        // La más popular ocupa el único hueco del nodo, pero no es la buscada
+        String name = "Finca La Esmeralda Geisha Lavado Natural Reserva";
+        SuggestionTrie trie = SuggestionTrie.of(List.of(coffee(1, name, 3),
+                coffee(2, "Finca La Esmeralda Geisha Lavado Honey", 9)), 1);
+
+        assertEquals(List.of(name), texts(trie.complete("finca la esmeralda geisha lavado natural")));
+        assertEquals(List.of(name), texts(trie.complete("la esmeralda geisha lavado natural res")));
+    }
+
+    @Test
+    void emptyOrUnknownPrefixReturnsNothing() {
+        SuggestionTrie trie = SuggestionTrie.of(List.of(SUPREMO, ETHIOPIA), 10);
+
+        assertEquals(List.of(), trie.complete(""));
+        assertEquals(List.of(), trie.complete("   "));
+        assertEquals(List.of(), trie.complete("kenia"));
+        assertEquals(List.of(), SuggestionTrie.empty().complete("col"));
+    }
+
+    private static CoffeeSuggestionDTO coffee(long id, String name, long popularity) {
+        return new CoffeeSuggestionDTO(name, CoffeeSuggestionDTO.TYPE_COFFEE, id, popularity);
+    }
+
+    private static List<String> texts(List<CoffeeSuggestionDTO> suggestions) {
+        return suggestions.stream().map(CoffeeSuggestionDTO::getText).toList();
+    }
+}
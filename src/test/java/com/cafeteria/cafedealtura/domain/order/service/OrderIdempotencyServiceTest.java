@@ -0,0 +1,97 @@
+package com.cafeteria.cafedealtura.domain.order.service;
+
+import com.cafeteria.cafedealtura.domain.coffee.model.Coffee;
+import com.cafeteria.cafedealtura.domain.coffee.repository.CoffeeRepository;
+import com.cafeteria.cafedealtura.domain.order.dto.request.CreateOrderRequestDTO;
+import com.cafeteria.cafedealtura.domain.order.dto.request.CreateOrderRequestDTO.OrderItemRequestDTO;
+import com.cafeteria.cafedealtura.domain.order.dto.response.OrderResponseDTO;
+import com.cafeteria.cafedealtura.domain.order.model.OrderIdempotencyKey;
+import com.cafeteria.cafedealtura.domain.order.repository.OrderIdempotencyKeyRepository;
+import com.cafeteria.cafedealtura.domain.order.repository.OrderRepository;
+import com.cafeteria.cafedealtura.domain.user.model.User;
+import com.cafeteria.cafedealtura.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Comprueba con claves persistentes que, si otra instancia confirma antes la
+ * misma clave de idempotencia, se devuelve el pedido de esa instancia en lugar
+ * de un error.
+ */
+@SpringBootTest(properties = "app.orders.idempotency.persistent=true")
+class OrderIdempotencyServiceTest {
+
+    @Autowired
+    private OrderIdempotencyService idempotencyService;
+
+    @SpyBean
+    private OrderService orderService;
+
+    @Autowired
+    private OrderIdempotencyKeyRepository keyRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CoffeeRepository coffeeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+    private Coffee coffee;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("Cliente idempotente", "idem@cafe.com", "secret"));
+        coffee = coffeeRepository.save(new Coffee("Espresso", "Intenso y con cuerpo", 2.0, "Colombia"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        keyRepository.deleteAll();
+        orderRepository.deleteAll(orderRepository.findByUserId(user.getId()));
+        coffeeRepository.delete(coffee);
+        userRepository.delete(user);
+    }
+
+    @Test
+    void concurrentDuplicateReturnsWinnerOrder() {
+        CreateOrderRequestDTO request = new CreateOrderRequestDTO(user.getId(),
+                List.of(new OrderItemRequestDTO(coffee.getId(), 1)));
+        String callerId = String.valueOf(user.getId());
+        OrderResponseDTO winner = orderService.create(request);
+
+        // La otra instancia confirma la clave justo después de que esta
+        // comprobase que no existía
+        TransactionTemplate otherInstance = new TransactionTemplate(transactionManager);
+        otherInstance.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        doAnswer(invocation -> {
+            otherInstance.executeWithoutResult(status -> keyRepository.saveAndFlush(new OrderIdempotencyKey(
+                    callerId + ":pedido-1", winner.getId(), OrderIdempotencyService.fingerprint(request))));
+            return invocation.callRealMethod();
+        }).when(orderService).create(any(CreateOrderRequestDTO.class));
+
+        OrderResponseDTO result = idempotencyService.create(callerId, "pedido-1", request);
+
+        assertEquals(winner.getId(), result.getId());
+        assertEquals(1, orderRepository.findByUserId(user.getId()).size());
+    }
+}
@@ -0,0 +1,81 @@
+package com.cafeteria.cafedealtura.domain.order.service;
+
+import com.cafeteria.cafedealtura.domain.coffee.model.Coffee;
+import com.cafeteria.cafedealtura.domain.coffee.repository.CoffeeRepository;
+import com.cafeteria.cafedealtura.domain.order.dto.request.CreateOrderRequestDTO;
+import com.cafeteria.cafedealtura.domain.order.dto.request.CreateOrderRequestDTO.OrderItemRequestDTO;
+import com.cafeteria.cafedealtura.domain.order.dto.response.BulkOrderResponseDTO;
+import com.cafeteria.cafedealtura.domain.order.dto.response.BulkOrderResponseDTO.OrderResult;
+import com.cafeteria.cafedealtura.domain.user.model.User;
+import com.cafeteria.cafedealtura.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba que un pedido inválido del lote (incluidos elementos nulos) se
+ * rechaza individualmente sin impedir que se creen los demás.
+ */
+@SpringBootTest
+@Transactional
+class OrderServiceBulkTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CoffeeRepository coffeeRepository;
+
+    private User user;
+    private Coffee coffee;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("Cliente lote", "lote@cafe.com", "secret"));
+        coffee = coffeeRepository.save(new Coffee("Espresso", "Intenso y con cuerpo", 2.0, "Colombia"));
+    }
+
+    @Test
+    void partialFailureKeepsValidOrders() {
+        List<CreateOrderRequestDTO> requests = Arrays.asList(
+                order(user.getId(), new OrderItemRequestDTO(coffee.getId(), 2)),
+                null,
+                order(user.getId(), (OrderItemRequestDTO) null),
+                order(-1L, new OrderItemRequestDTO(coffee.getId(), 1)),
+                order(user.getId(), new OrderItemRequestDTO(-1L, 1)),
+                order(user.getId(), new OrderItemRequestDTO(coffee.getId(), 1)));
+
+        BulkOrderResponseDTO response = orderService.createBulk(requests);
+
+        assertEquals(6, response.getTotal());
+        assertEquals(2, response.getCreated());
+        assertEquals(4, response.getFailed());
+        List<OrderResult> results = response.getResults();
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+        }
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(4.0, results.get(0).getOrder().getTotal());
+        assertFalse(results.get(1).isSuccess());
+        assertFalse(results.get(2).isSuccess());
+        assertFalse(results.get(3).isSuccess());
+        assertFalse(results.get(4).isSuccess());
+        assertTrue(results.get(5).isSuccess());
+    }
+
+    private static CreateOrderRequestDTO order(Long userId, OrderItemRequestDTO... items) {
+        return new CreateOrderRequestDTO(userId, Arrays.asList(items));
+    }
+}
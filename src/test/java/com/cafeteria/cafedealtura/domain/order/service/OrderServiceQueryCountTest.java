@@ -0,0 +1,167 @@
+package com.cafeteria.cafedealtura.domain.order.service;
+
+import com.cafeteria.cafedealtura.domain.coffee.model.Coffee;
+import com.cafeteria.cafedealtura.domain.coffee.repository.CoffeeRepository;
+import com.cafeteria.cafedealtura.domain.order.dto.response.OrderResponseDTO;
+import com.cafeteria.cafedealtura.domain.order.model.Order;
+import com.cafeteria.cafedealtura.domain.order.model.OrderItem;
+import com.cafeteria.cafedealtura.domain.order.model.OrderStatus;
+import com.cafeteria.cafedealtura.domain.order.repository.OrderRepository;
+import com.cafeteria.cafedealtura.domain.user.model.User;
+import com.cafeteria.cafedealtura.domain.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba que los listados de pedidos ejecutan un número de sentencias SQL
+ * acotado e independiente del número de pedidos devueltos.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class OrderServiceQueryCountTest {
+
+    private static final int ORDERS = 10;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CoffeeRepository coffeeRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private User user;
+    private Order first;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("Cliente N+1", "n1@cafe.com", "secret"));
+        Coffee espresso = coffeeRepository.save(new Coffee("Espresso", "Intenso y con cuerpo", 2.0, "Colombia"));
+        Coffee latte = coffeeRepository.save(new Coffee("Latte", "Suave y cremoso", 3.0, "Brasil"));
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order(user);
+            order.addItem(new OrderItem(espresso, 1));
+            order.addItem(new OrderItem(latte, 2));
+            orderRepository.save(order);
+            if (first == null) {
+                first = order;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findByUserIdUsesFetchPlan() {
+        long statements = countStatements(() -> orderService.findByUserId(user.getId()), ORDERS);
+        assertTrue(statements <= 2, "Sentencias ejecutadas: " + statements);
+    }
+
+    @Test
+    void findByStatusUsesFetchPlan() {
+        long statements = countStatements(() -> orderService.findByStatus(OrderStatus.PENDING.name()), ORDERS);
+        assertTrue(statements <= 2, "Sentencias ejecutadas: " + statements);
+    }
+
+    @Test
+    void findByDateRangeUsesFetchPlan() {
+        LocalDateTime now = LocalDateTime.now();
+        long statements = countStatements(
+                () -> orderService.findByDateRange(now.minusDays(1), now.plusDays(1)), ORDERS);
+        assertTrue(statements <= 2, "Sentencias ejecutadas: " + statements);
+    }
+
+    @Test
+    void findByIdUsesFetchPlan() {
+        long statements = countStatements(() -> List.of(orderService.findById(first.getId())), 1);
+        assertEquals(1, statements);
+    }
+
+    @Test
+    void slicesBatchLazyItems() {
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest page = PageRequest.of(0, ORDERS);
+        // Porción + items por lotes, sin COUNT
+        long byUser = countStatements(() -> orderService.findByUserId(user.getId(), page), ORDERS);
+        assertTrue(byUser <= 2, "Sentencias ejecutadas: " + byUser);
+        long byStatus = countStatements(() -> orderService.findByStatus(OrderStatus.PENDING.name(), page), ORDERS);
+        assertTrue(byStatus <= 2, "Sentencias ejecutadas: " + byStatus);
+        long byDate = countStatements(
+                () -> orderService.findByDateRange(now.minusDays(1), now.plusDays(1), page), ORDERS);
+        assertTrue(byDate <= 2, "Sentencias ejecutadas: " + byDate);
+    }
+
+    @Test
+    void streamsUseSingleStatement() {
+        LocalDateTime now = LocalDateTime.now();
+        assertEquals(1, countStatements(() -> collect(sink -> orderService.streamByUserId(user.getId(), sink)),
+                ORDERS));
+        assertEquals(1, countStatements(() -> collect(sink -> orderService.streamByStatus(OrderStatus.PENDING, sink)),
+                ORDERS));
+        assertEquals(1, countStatements(
+                () -> collect(sink -> orderService.streamByDateRange(now.minusDays(1), now.plusDays(1), sink)),
+                ORDERS));
+    }
+
+    @Test
+    void findAllBatchesLazyAssociations() {
+        long statements = countStatements(() -> orderService.findAll(PageRequest.of(0, ORDERS)), ORDERS);
+        // Página + COUNT + roles y items por lotes
+        assertTrue(statements <= 4, "Sentencias ejecutadas: " + statements);
+    }
+
+    @Test
+    void scrollBatchesLazyAssociations() {
+        long statements = countStatements(() -> orderService.scroll(null, ORDERS).getContent(), ORDERS);
+        assertTrue(statements <= 3, "Sentencias ejecutadas: " + statements);
+    }
+
+    @Test
+    void dtoProjectionUsesSingleStatement() {
+        long statements = countStatements(
+                () -> OrderResponseDTO.fromLines(orderRepository.findLinesByUserId(user.getId())), ORDERS);
+        assertEquals(1, statements);
+    }
+
+    private static List<OrderResponseDTO> collect(Consumer<Consumer<OrderResponseDTO>> stream) {
+        List<OrderResponseDTO> orders = new ArrayList<>();
+        stream.accept(orders::add);
+        return orders;
+    }
+
+    private long countStatements(Supplier<List<OrderResponseDTO>> query, int expectedOrders) {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        List<OrderResponseDTO> orders = query.get();
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(orders.size() >= expectedOrders, "Pedidos devueltos: " + orders.size());
+        orders.forEach(order -> assertEquals(2, order.getItems().size()));
+        return statements;
+    }
+}
@@ -0,0 +1,137 @@
+package com.cafeteria.cafedealtura.load;
+
+import com.cafeteria.cafedealtura.domain.coffee.model.Coffee;
+import com.cafeteria.cafedealtura.domain.coffee.repository.CoffeeRepository;
+import com.cafeteria.cafedealtura.domain.order.model.Order;
+import com.cafeteria.cafedealtura.domain.order.model.OrderItem;
+import com.cafeteria.cafedealtura.domain.order.repository.OrderRepository;
+import com.cafeteria.cafedealtura.domain.user.model.User;
+import com.cafeteria.cafedealtura.domain.user.repository.UserRepository;
+import com.cafeteria.cafedealtura.security.JwtTokenProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Prueba de carga del listado de pedidos a distintos niveles de concurrencia.
+ *
+ * Antes de medir se insertan {@link #SEEDED_ORDERS} pedidos, de modo que cada
+ * petición lee una página completa con sus items y usuario en la base de
+ * datos. Solo se ejecuta con {@code -Dloadtest=true}. Para comparar hilos de
+ * plataforma con hilos virtuales se lanza dos veces y se comparan las
+ * peticiones por segundo que registra en el log:
+ *
+ * <pre>
+ * mvn test -Dtest=RequestConcurrencyLoadTest -Dloadtest=true
+ * mvn -Pjava21 test -Dtest=RequestConcurrencyLoadTest -Dloadtest=true -Dspring.profiles.active=virtual-threads
+ * </pre>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class RequestConcurrencyLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestConcurrencyLoadTest.class);
+
+    private static final int[] CONCURRENCY_LEVELS = { 50, 200, 400, 800 };
+    private static final int REQUESTS_PER_CLIENT = 20;
+    private static final int SEEDED_ORDERS = 500;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CoffeeRepository coffeeRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    private User admin;
+    private List<Coffee> coffees;
+    private List<Order> orders;
+
+    @BeforeEach
+    void seed() {
+        admin = userRepository.findByEmail("admin@cafe.com").orElseThrow();
+        coffees = coffeeRepository.saveAll(List.of(
+                new Coffee("Carga Espresso", "Café para la prueba de carga", 2.0, "Colombia"),
+                new Coffee("Carga Latte", "Café con leche para la prueba de carga", 3.0, "Brasil")));
+        List<Order> seeded = new ArrayList<>(SEEDED_ORDERS);
+        for (int i = 0; i < SEEDED_ORDERS; i++) {
+            Order order = new Order(admin);
+            order.addItem(new OrderItem(coffees.get(0), 1 + i % 3));
+            order.addItem(new OrderItem(coffees.get(1), 1));
+            seeded.add(order);
+        }
+        orders = orderRepository.saveAll(seeded);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        orderRepository.deleteAll(orders);
+        coffeeRepository.deleteAll(coffees);
+    }
+
+    @Test
+    void ordersListingScalesWithConcurrency() {
+        String token = tokenProvider.generateToken(admin);
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/orders?page=0&size=20"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+
+        String mode = System.getProperty("spring.profiles.active", "platform");
+        for (int concurrency : CONCURRENCY_LEVELS) {
+            AtomicInteger failures = new AtomicInteger();
+            long start = System.nanoTime();
+            List<CompletableFuture<Void>> clients = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                clients.add(CompletableFuture.runAsync(() -> {
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (Exception ex) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                }, runnable -> new Thread(runnable).start()));
+            }
+            CompletableFuture.allOf(clients.toArray(CompletableFuture[]::new)).join();
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            int total = concurrency * REQUESTS_PER_CLIENT;
+            logger.info("[{}] concurrencia={} peticiones={} fallos={} {} req/s",
+                    mode, concurrency, total, failures.get(), String.format("%.1f", total / seconds));
+            assertEquals(0, failures.get());
+        }
+    }
+}